@@ -1,228 +0,0 @@
-import java.nio.charset.Charset;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
-import java.util.function.Function;
-import java.io.File;
-import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-
-public class App {
-
-	/** Nome do arquivo de dados. O arquivo deve estar localizado na raiz do projeto */
-    static String nomeArquivoDados;
-    
-    /** Scanner para leitura de dados do teclado */
-    static Scanner teclado;
-
-    /** Quantidade de produtos cadastrados atualmente na lista */
-    static int quantosProdutos = 0;
-
-    static ABB<String, Produto> produtosCadastradosPorNome;
-    
-    static ABB<Integer, Produto> produtosCadastradosPorId;
-    
-    static void limparTela() {
-        System.out.print("\033[H\033[2J");
-        System.out.flush();
-    }
-
-    /** Gera um efeito de pausa na CLI. Espera por um enter para continuar */
-    static void pausa() {
-        System.out.println("Digite enter para continuar...");
-        teclado.nextLine();
-    }
-
-    /** Cabeçalho principal da CLI do sistema */
-    static void cabecalho() {
-        System.out.println("AEDs II COMÉRCIO DE COISINHAS");
-        System.out.println("=============================");
-    }
-   
-    static <T extends Number> T lerOpcao(String mensagem, Class<T> classe) {
-        
-    	T valor;
-        
-    	System.out.println(mensagem);
-    	try {
-            valor = classe.getConstructor(String.class).newInstance(teclado.nextLine());
-        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException 
-        		| InvocationTargetException | NoSuchMethodException | SecurityException e) {
-            return null;
-        }
-        return valor;
-    }
-    
-    /** Imprime o menu principal, lê a opção do usuário e a retorna (int).
-     * @return Um inteiro com a opção do usuário.
-    */
-    static int menu() {
-        cabecalho();
-        System.out.println("1 - Listar todos os produtos");
-        System.out.println("2 - Carregar produtos por nome/descrição");
-        System.out.println("3 - Carregar produtos por id");
-        System.out.println("4 - Procurar produto, por nome");
-        System.out.println("5 - Procurar produto, por id");
-        System.out.println("0 - Sair");
-        System.out.print("Digite sua opção: ");
-        return Integer.parseInt(teclado.nextLine());
-    }
-    
-    /**
-     * Lê os dados de um arquivo-texto e retorna uma árvore de produtos. Arquivo-texto no formato
-     * N (quantidade de produtos) <br/>
-     * tipo;descrição;preçoDeCusto;margemDeLucro;[dataDeValidade] <br/>
-     * Deve haver uma linha para cada um dos produtos. Retorna uma árvore vazia em caso de problemas com o arquivo.
-     * @param nomeArquivoDados Nome do arquivo de dados a ser aberto.
-     * @return Uma árvore com os produtos carregados, ou vazia em caso de problemas de leitura.
-     */
-    static <K> ABB<K, Produto> lerProdutos(String nomeArquivoDados, Function<Produto, K> extratorDeChave) {
-    	
-    	Scanner arquivo = null;
-    	int numProdutos;
-    	String linha;
-    	Produto produto;
-    	ABB<K, Produto> produtosCadastrados;
-    	K chave;
-    	
-    	try {
-    		arquivo = new Scanner(new File(nomeArquivoDados), Charset.forName("UTF-8"));
-    		
-    		numProdutos = Integer.parseInt(arquivo.nextLine());
-    		produtosCadastrados = new ABB<K, Produto>();
-    		
-    		for (int i = 0; i < numProdutos; i++) {
-    			linha = arquivo.nextLine();
-    			produto = Produto.criarDoTexto(linha);
-    			chave = extratorDeChave.apply(produto);
-    			produtosCadastrados.inserir(chave, produto);
-    		}
-    		quantosProdutos = numProdutos;
-    		
-    	} catch (IOException excecaoArquivo) {
-    		produtosCadastrados = null;
-    	} finally {
-    		arquivo.close();
-    	}
-    	
-    	return produtosCadastrados;
-    }
-    
-    static <K> Produto localizarProduto(ABB<K, Produto> produtosCadastrados, K procurado) {
-    	
-    	Produto produto;
-    	
-    	cabecalho();
-    	System.out.println("Localizando um produto...");
-    	
-    	try {
-    		produto = produtosCadastrados.pesquisar(procurado);
-    	} catch (NoSuchElementException excecao) {
-    		produto = null;
-    	}
-    	
-    	System.out.println("Número de comparações realizadas: " + produtosCadastrados.getComparacoes());
-    	System.out.println("Tempo de processamento da pesquisa: " + produtosCadastrados.getTempo() + " ms");
-        
-    	return produto;
-    	
-    }
-    
-    /** Localiza um produto na árvore de produtos organizados por id, a partir do código de produto informado pelo usuário, e o retorna. 
-     *  Em caso de não encontrar o produto, retorna null */
-    static Produto localizarProdutoID(ABB<Integer, Produto> produtosCadastrados) {
-    
-        cabecalho();
-        System.out.println("LOCALIZAR PRODUTO POR ID");
-        System.out.println("========================");
-        
-        // Solicita o ID do produto ao usuário
-        Integer id = lerOpcao("Digite o ID do produto: ", Integer.class);
-        
-        if (id == null) {
-            System.out.println("ID inválido!");
-            return null;
-        }
-        
-        // Usa o método genérico para localizar o produto
-        Produto produto = localizarProduto(produtosCadastrados, id);
-        
-        if (produto == null) {
-            System.out.println("Produto com ID " + id + " não encontrado!");
-        }
-        
-        return produto;
-    }
-    
-    /** Localiza um produto na árvore de produtos organizados por nome, a partir do nome de produto informado pelo usuário, e o retorna. 
-     *  A busca não é sensível ao caso. Em caso de não encontrar o produto, retorna null */
-    static Produto localizarProdutoNome(ABB<String, Produto> produtosCadastrados) {
-    
-        cabecalho();
-        System.out.println("LOCALIZAR PRODUTO POR NOME");
-        System.out.println("==========================");
-        
-        // Solicita o nome do produto ao usuário
-        System.out.print("Digite o nome do produto: ");
-        String nome = teclado.nextLine().trim();
-        
-        if (nome.isEmpty()) {
-            System.out.println("Nome não pode estar vazio!");
-            return null;
-        }
-        
-        // Usa o método genérico para localizar o produto
-        Produto produto = localizarProduto(produtosCadastrados, nome);
-        
-        if (produto == null) {
-            System.out.println("Produto '" + nome + "' não encontrado!");
-        }
-        
-        return produto;
-    }
-    
-    private static void mostrarProduto(Produto produto) {
-    	
-        cabecalho();
-        String mensagem = "Dados inválidos para o produto!";
-        
-        if (produto != null){
-            mensagem = String.format("Dados do produto:\n%s", produto);
-        }
-        
-        System.out.println(mensagem);
-    }
-    
-    /** Lista todos os produtos cadastrados, numerados, um por linha */
-    static <K> void listarTodosOsProdutos(ABB<K, Produto> produtosCadastrados) {
-    	
-        cabecalho();
-        System.out.println("\nPRODUTOS CADASTRADOS:");
-        System.out.println(produtosCadastrados.toString());
-    }
-    
-	public static void main(String[] args) {
-		teclado = new Scanner(System.in, Charset.forName("UTF-8"));
-        nomeArquivoDados = "produtos.txt";
-        
-        int opcao = -1;
-      
-        do{
-            opcao = menu();
-            switch (opcao) {
-                case 1 -> listarTodosOsProdutos(produtosCadastradosPorNome);
-                case 2 -> produtosCadastradosPorNome = lerProdutos(nomeArquivoDados, (p -> p.descricao));
-                case 3 -> produtosCadastradosPorId = lerProdutos(nomeArquivoDados, (p -> p.idProduto));
-                case 4 -> mostrarProduto(localizarProdutoNome(produtosCadastradosPorNome));
-                case 5 -> mostrarProduto(localizarProdutoID(produtosCadastradosPorId));
-            }
-            pausa();
-        }while(opcao != 0);       
-
-        teclado.close();    
-    }
-}
-
-
-
-
-
@@ -1,5 +0,0 @@
-public interface IMedicao {
-    
-	public long getComparacoes();
-    public double getTempo();
-} 
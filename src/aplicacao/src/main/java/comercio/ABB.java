@@ -0,0 +1,1083 @@
+package comercio;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ABB<K, V> implements IMapeamento<K, V>, Iterable<Map.Entry<K, V>> {
+
+	protected No<K, V> raiz; // referência à raiz da árvore.
+	protected Comparator<K> comparador; //comparador empregado para definir "menores" e "maiores".
+	protected int tamanho;
+	protected long comparacoes;
+	protected long inicio;
+	protected long termino;
+	protected volatile Metricas metricas; // métricas acumuladas das operações, ou null se desativadas.
+	protected double alfa;         // fator de equilíbrio da política do bode expiatório, ou 0 se desativada.
+	protected int tamanhoMaximo;   // maior tamanho desde a última reconstrução da árvore inteira.
+	
+	/**
+	 * Método auxiliar para inicialização da árvore binária de busca.
+	 * 
+	 * Este método define a raiz da árvore como {@code null} e seu tamanho como 0.
+	 * Utiliza o comparador fornecido para definir a organização dos elementos na árvore.
+	 * @param comparador o comparador para organizar os elementos da árvore.
+	 */
+	private void init(Comparator<K> comparador) {
+		raiz = null;
+		tamanho = 0;
+		this.comparador = comparador;
+	}
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */ 
+	@SuppressWarnings("unchecked")
+	public ABB() {
+	    init((Comparator<K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Esse construtor cria uma nova árvore binária de busca vazia.
+	 *  
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.  
+	 */
+	public ABB(Comparator<K> comparador) {
+	    init(comparador);
+	}
+
+    /**
+     * Construtor da classe.
+     * Esse construtor cria uma nova árvore binária a partir de uma outra árvore binária de busca,
+     * com os mesmos itens, mas usando uma nova chave. O comparador padrão de ordem natural será utilizado.
+     * @param original a árvore binária de busca original.
+     * @param funcaoChave a função que irá extrair a nova chave de cada item para a nova árvore.
+     */
+    @SuppressWarnings("unchecked")
+    public ABB(ABB<?, V> original, Function<V, K> funcaoChave) {
+        this(original, funcaoChave, (Comparator<K>) Comparator.naturalOrder());
+    }
+    
+    /**
+     * Construtor da classe.
+     * Esse construtor cria uma nova árvore binária a partir de uma outra árvore binária de busca,
+     * com os mesmos itens, mas usando uma nova chave e o comparador indicado.
+     * A nova árvore é montada já balanceada, pela carga em lote ({@link #carregarOrdenados(List, List)}):
+     * se a nova chave mantiver a ordem da original, o custo é linear; caso contrário, os itens são ordenados uma única vez.
+     * @param original a árvore binária de busca original.
+     * @param funcaoChave a função que irá extrair a nova chave de cada item para a nova árvore.
+     * @param comparador o comparador a ser utilizado para organizar os elementos da nova árvore.
+     */
+    public ABB(ABB<?, V> original, Function<V, K> funcaoChave, Comparator<K> comparador) {
+        init(comparador);
+        copiarArvore(original.raiz, funcaoChave);
+    }
+    
+    /**
+     * Copia os elementos da árvore original para esta. Os itens são coletados num caminhamento em ordem,
+     * com pilha explícita, e suas novas chaves são extraídas. Se as novas chaves não estiverem em ordem crescente,
+     * os pares são ordenados (de forma estável) e, para chaves repetidas, prevalece o último item, como ocorreria
+     * com inserções sucessivas. Por fim, a árvore é montada com {@link #carregarOrdenados(List, List)}.
+     * @param raizArvore raiz da árvore original que será copiada.
+     * @param funcaoChave função extratora da nova chave para cada item da árvore.
+     */
+    private void copiarArvore(No<?, V> raizArvore, Function<V, K> funcaoChave) {
+    	
+    	Deque<No<?, V>> pilha = new ArrayDeque<>();
+    	No<?, V> atual = raizArvore;
+    	List<K> chaves = new ArrayList<>();
+    	List<V> itens = new ArrayList<>();
+    	boolean ordenadas = true;
+    	
+    	while (atual != null || !pilha.isEmpty()) {
+    		while (atual != null) {
+    			pilha.push(atual);
+    			atual = atual.getEsquerda();
+    		}
+    		atual = pilha.pop();
+    		V item = atual.getItem();
+    		K chave = funcaoChave.apply(item);
+    		if (ordenadas && !chaves.isEmpty() && comparador.compare(chaves.get(chaves.size() - 1), chave) >= 0)
+    			ordenadas = false;
+    		chaves.add(chave);
+    		itens.add(item);
+    		atual = atual.getDireita();
+    	}
+    	
+    	if (!ordenadas) {
+    		List<Map.Entry<K, V>> pares = new ArrayList<>(chaves.size());
+    		for (int i = 0; i < chaves.size(); i++)
+    			pares.add(new AbstractMap.SimpleEntry<>(chaves.get(i), itens.get(i)));
+    		pares.sort(Map.Entry.comparingByKey(comparador));
+    		
+    		chaves.clear();
+    		itens.clear();
+    		for (Map.Entry<K, V> par : pares) {
+    			int ultimo = chaves.size() - 1;
+    			if (ultimo >= 0 && comparador.compare(chaves.get(ultimo), par.getKey()) == 0) {
+    				itens.set(ultimo, par.getValue());
+    			} else {
+    				chaves.add(par.getKey());
+    				itens.add(par.getValue());
+    			}
+    		}
+    	}
+    	
+    	carregarOrdenados(chaves, itens);
+    }
+    
+    /**
+     * Carga em lote: substitui o conteúdo da árvore pelos itens informados, que devem estar em ordem estritamente
+     * crescente de chave, segundo o comparador da árvore. A árvore resultante é perfeitamente balanceada
+     * (altura igual a piso(log2 n)) e é montada em O(n), sem nenhuma comparação de chaves.
+     * @param chaves as chaves, já ordenadas e sem repetições.
+     * @param itens os itens, na mesma ordem das chaves.
+     * @throws IllegalArgumentException se as listas tiverem tamanhos diferentes.
+     */
+    public void carregarOrdenados(List<K> chaves, List<V> itens) {
+    	
+    	if (chaves.size() != itens.size())
+    		throw new IllegalArgumentException("As listas de chaves e de itens devem ter o mesmo tamanho.");
+    	
+    	comparacoes = 0;
+    	inicio = System.nanoTime();
+    	raiz = construirBalanceada(chaves, itens, 0, chaves.size() - 1);
+    	tamanho = chaves.size();
+    	tamanhoMaximo = tamanho;
+    	termino = System.nanoTime();
+    }
+    
+    /**
+     * Recursivamente, monta a sub-árvore com os itens do intervalo [inicio, fim]: o elemento central é a raiz
+     * e cada metade forma uma sub-árvore. A profundidade da recursão é logarítmica.
+     * @return a raiz da sub-árvore montada, ou null se o intervalo for vazio.
+     */
+    private No<K, V> construirBalanceada(List<K> chaves, List<V> itens, int inicio, int fim) {
+    	
+    	if (inicio > fim)
+    		return null;
+    	
+    	int meio = (inicio + fim) >>> 1;
+    	No<K, V> no = new No<>(chaves.get(meio), itens.get(meio));
+    	no.setEsquerda(construirBalanceada(chaves, itens, inicio, meio - 1));
+    	no.setDireita(construirBalanceada(chaves, itens, meio + 1, fim));
+    	no.setAltura();
+    	no.setQuantidade();
+    	return no;
+    }
+    
+    /**
+	 * Método booleano que indica se a árvore está vazia ou não.
+	 * @return
+	 * verdadeiro: se a raiz da árvore for null, o que significa que a árvore está vazia.
+	 * falso: se a raiz da árvore não for null, o que significa que a árvore não está vazia.
+	 */
+	public Boolean vazia() {
+	    return (this.raiz == null);
+	}
+    
+    @Override
+    /**
+     * Método que encapsula a pesquisa iterativa de itens na árvore.
+     * @param chave a chave do item que será pesquisado na árvore.
+     * @return o valor associado à chave.
+     */
+	public V pesquisar(K chave) {
+    	comparacoes = 0;
+    	inicio = System.nanoTime();
+    	try {
+    		return pesquisar(raiz, chave);
+    	} finally {
+    		termino = System.nanoTime();
+    		registrar(Operacao.PESQUISAR);
+    	}
+	}
+    
+    private V pesquisar(No<K, V> raizArvore, K procurado) {
+    	
+    	int comparacao;
+    	
+    	while (true) {
+    		comparacoes++;
+    		if (raizArvore == null)
+    			/// Se a raiz da árvore ou sub-árvore for null, a árvore/sub-árvore está vazia e então o item não foi encontrado.
+    			throw new NoSuchElementException("O item não foi localizado na árvore!");
+    		
+    		comparacao = comparador.compare(procurado, raizArvore.getChave());
+    		
+    		if (comparacao == 0)
+    			/// O item procurado foi encontrado.
+    			return raizArvore.getItem();
+    		else if (comparacao < 0)
+    			/// Se o item procurado for menor do que o item armazenado na raiz da árvore:
+    			/// continue a pesquisa na sub-árvore esquerda.
+    			raizArvore = raizArvore.getEsquerda();
+    		else
+    			/// Se o item procurado for maior do que o item armazenado na raiz da árvore:
+    			/// continue a pesquisa na sub-árvore direita.
+    			raizArvore = raizArvore.getDireita();
+    	}
+    }
+    
+    @Override
+    /**
+     * Método que adiciona, iterativamente, um item à árvore, associando-o à chave fornecida.
+     * Caso a chave já exista, o item associado a ela é substituído e o tamanho não se altera.
+     * O caminho percorrido é guardado numa pilha, para atualizar a quantidade de nós e a altura das sub-árvores afetadas.
+     * Com a política do bode expiatório ativada, uma inserção profunda demais reconstrói uma das sub-árvores desse caminho.
+     * @param chave a chave associada ao item que será inserido na árvore.
+     * @param item o item que será inserido na árvore.
+     * 
+     * @return o tamanho atualizado da árvore após a execução da operação de inserção.
+     */
+	public int inserir(K chave, V item) {
+		
+		No<K, V> pai = null;
+		No<K, V> atual;
+		Deque<No<K, V>> caminho = new ArrayDeque<>();
+		int comparacao = 0;
+		
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		
+		atual = raiz;
+		while (atual != null) {
+			comparacoes++;
+			comparacao = comparador.compare(chave, atual.getChave());
+			
+			if (comparacao == 0) {
+				/// Chave já existe: atualiza o valor.
+				atual.setItem(item);
+				termino = System.nanoTime();
+				registrar(Operacao.INSERIR);
+				return tamanho;
+			}
+			pai = atual;
+			caminho.push(atual);
+			atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+		}
+		
+		/// Encontrou a posição de inserção: o novo nó é filho do último nó visitado.
+		No<K, V> novo = new No<>(chave, item);
+		if (pai == null)
+			raiz = novo;
+		else if (comparacao < 0)
+			pai.setEsquerda(novo);
+		else
+			pai.setDireita(novo);
+		
+		tamanho++;
+		tamanhoMaximo = Math.max(tamanhoMaximo, tamanho);
+		if (alfa > 0 && caminho.size() > profundidadeLimite())
+			reconstruirBodeExpiatorio(caminho, novo);
+		else
+			atualizarCaminho(caminho);
+		termino = System.nanoTime();
+		registrar(Operacao.INSERIR);
+		
+		return tamanho;
+	}
+
+    @Override 
+    public String toString(){
+    	return percorrer();
+    }
+
+    @Override
+    public String percorrer() {
+    	return caminhamentoEmOrdem();
+    }
+
+    @Override
+    /**
+     * Método que remove, iterativamente, um item da árvore.
+     * Como na inserção, o caminho até o nó desligado é guardado para atualizar a quantidade de nós e a altura das sub-árvores.
+     * Com a política do bode expiatório ativada, a árvore inteira é reconstruída quando seu tamanho cai abaixo de
+     * {@code alfa} vezes o maior tamanho desde a última reconstrução.
+     * @param chave a chave do item que deverá ser localizado e removido da árvore.
+     * @return o valor associado ao item removido.
+     */
+	public V remover(K chave) {
+		
+		No<K, V> pai = null;
+		No<K, V> atual;
+		No<K, V> substituto;
+		Deque<No<K, V>> caminho = new ArrayDeque<>();
+		V valorRemovido;
+		int comparacao;
+		
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		
+		atual = raiz;
+		while (true) {
+			comparacoes++;
+			if (atual == null) {
+				termino = System.nanoTime();
+				registrar(Operacao.REMOVER);
+				throw new NoSuchElementException("O item não foi localizado na árvore!");
+			}
+			comparacao = comparador.compare(chave, atual.getChave());
+			if (comparacao == 0)
+				break;
+			pai = atual;
+			caminho.push(atual);
+			atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+		}
+		
+		valorRemovido = atual.getItem();
+		
+		if (atual.getEsquerda() != null && atual.getDireita() != null) {
+			/// Nó com 2 filhos: recebe os dados do sucessor, que passa a ser o nó desligado da árvore.
+			No<K, V> paiSucessor = atual;
+			No<K, V> sucessor = atual.getDireita();
+			caminho.push(atual);
+			while (sucessor.getEsquerda() != null) {
+				comparacoes++;
+				caminho.push(sucessor);
+				paiSucessor = sucessor;
+				sucessor = sucessor.getEsquerda();
+			}
+			atual.setChave(sucessor.getChave());
+			atual.setItem(sucessor.getItem());
+			pai = paiSucessor;
+			atual = sucessor;
+		}
+		
+		/// Nó com 0 ou 1 filho: é substituído pelo seu único filho (ou por null).
+		substituto = (atual.getEsquerda() != null) ? atual.getEsquerda() : atual.getDireita();
+		if (pai == null)
+			raiz = substituto;
+		else if (pai.getEsquerda() == atual)
+			pai.setEsquerda(substituto);
+		else
+			pai.setDireita(substituto);
+		atualizarCaminho(caminho);
+		
+		tamanho--;
+		if (alfa > 0 && tamanho < alfa * tamanhoMaximo)
+			aplicarDSW();
+		termino = System.nanoTime();
+		registrar(Operacao.REMOVER);
+		
+		return valorRemovido;
+	}
+
+	/**
+	 * Recalcula a quantidade de nós e a altura das sub-árvores ao longo de um caminho, do nó mais profundo até a raiz.
+	 * @param caminho os nós do caminho, com o mais profundo no topo da pilha.
+	 */
+	private void atualizarCaminho(Deque<No<K, V>> caminho) {
+		
+		while (!caminho.isEmpty()) {
+			No<K, V> no = caminho.pop();
+			no.setQuantidade();
+			no.setAltura();
+		}
+	}
+
+	/**
+	 * Ativa a política do bode expiatório (scapegoat tree), que mantém a altura da árvore logarítmica sem rotações:
+	 * quando um nó é inserido a uma profundidade maior que log(n) na base 1/alfa, sobe-se pelo caminho da inserção até o
+	 * primeiro nó cuja sub-árvore do lado do caminho tem mais do que {@code alfa} vezes a sua quantidade de nós (o bode expiatório),
+	 * e só a sub-árvore desse nó é reconstruída, perfeitamente balanceada. O custo amortizado das inserções é O(log n).
+	 * Valores de {@code alfa} próximos de 0,5 mantêm a árvore mais baixa, à custa de mais reconstruções.
+	 * Subclasses que redefinem a inserção e a remoção (como a {@link AVL}) não usam a política e recusam a ativação.
+	 * @param alfa o fator de equilíbrio, entre 0,5 e 1, exclusive.
+	 * @throws IllegalArgumentException se o fator estiver fora desse intervalo.
+	 */
+	public void ativarBodeExpiatorio(double alfa) {
+		
+		if (!(alfa > 0.5 && alfa < 1))
+			throw new IllegalArgumentException("O fator alfa deve estar entre 0,5 e 1: " + alfa);
+		this.alfa = alfa;
+		tamanhoMaximo = tamanho;
+	}
+	
+	public void desativarBodeExpiatorio() {
+		alfa = 0;
+	}
+	
+	/** Maior profundidade aceita para um nó inserido: piso de log(n) na base 1/alfa. */
+	private int profundidadeLimite() {
+		return (int) (Math.log(tamanho) / Math.log(1 / alfa));
+	}
+	
+	/**
+	 * Atualiza o caminho de uma inserção profunda demais, do nó inserido até a raiz, e reconstrói a sub-árvore do primeiro nó
+	 * desbalanceado encontrado, o bode expiatório. Como a profundidade excede o limite, esse nó sempre existe.
+	 * @param caminho os ancestrais do nó inserido, com o pai no topo da pilha.
+	 * @param inserido o nó inserido.
+	 */
+	private void reconstruirBodeExpiatorio(Deque<No<K, V>> caminho, No<K, V> inserido) {
+		
+		No<K, V> filho = inserido;
+		boolean reconstruida = false;
+		
+		while (!caminho.isEmpty()) {
+			No<K, V> no = caminho.pop();
+			no.setQuantidade();
+			if (!reconstruida && filho.getQuantidade() > alfa * no.getQuantidade()) {
+				No<K, V> pai = caminho.peek();
+				No<K, V> novaRaiz = reconstruir(no);
+				if (pai == null)
+					raiz = novaRaiz;
+				else if (pai.getEsquerda() == no)
+					pai.setEsquerda(novaRaiz);
+				else
+					pai.setDireita(novaRaiz);
+				no = novaRaiz;
+				reconstruida = true;
+			} else {
+				no.setAltura();
+			}
+			filho = no;
+		}
+	}
+	
+	/**
+	 * Reconstrói uma sub-árvore, perfeitamente balanceada, com os mesmos nós: eles são coletados em ordem num vetor,
+	 * do tamanho dado pela quantidade de nós da sub-árvore, e religados a partir do elemento central, como na carga em lote.
+	 * @param raizSubarvore a raiz da sub-árvore, com a quantidade de nós já atualizada.
+	 * @return a nova raiz da sub-árvore.
+	 */
+	private No<K, V> reconstruir(No<K, V> raizSubarvore) {
+		
+		@SuppressWarnings("unchecked")
+		No<K, V>[] nos = (No<K, V>[]) new No<?, ?>[raizSubarvore.getQuantidade()];
+		Deque<No<K, V>> pilha = new ArrayDeque<>();
+		No<K, V> atual = raizSubarvore;
+		int i = 0;
+		
+		while (atual != null || !pilha.isEmpty()) {
+			while (atual != null) {
+				pilha.push(atual);
+				atual = atual.getEsquerda();
+			}
+			atual = pilha.pop();
+			nos[i++] = atual;
+			atual = atual.getDireita();
+		}
+		return religar(nos, 0, nos.length - 1);
+	}
+	
+	private No<K, V> religar(No<K, V>[] nos, int inicio, int fim) {
+		
+		if (inicio > fim)
+			return null;
+		
+		int meio = (inicio + fim) >>> 1;
+		No<K, V> no = nos[meio];
+		no.setEsquerda(religar(nos, inicio, meio - 1));
+		no.setDireita(religar(nos, meio + 1, fim));
+		no.setAltura();
+		no.setQuantidade();
+		return no;
+	}
+	
+	/**
+	 * Rebalanceia a árvore inteira pelo algoritmo de Day-Stout-Warren, em O(n) e sem comparações de chaves: rotações
+	 * à direita transformam a árvore numa lista encadeada pela direita, em ordem crescente, e sucessivas passadas de rotações
+	 * à esquerda a compactam numa árvore de altura mínima, com todos os níveis completos, exceto talvez o último.
+	 * A reestruturação usa memória extra constante; o recálculo das alturas e quantidades, em seguida, usa uma pilha
+	 * do tamanho da nova altura, O(log n).
+	 */
+	public void rebalancear() {
+		
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		aplicarDSW();
+		termino = System.nanoTime();
+	}
+	
+	private void aplicarDSW() {
+		
+		No<K, V> pseudoRaiz = new No<>(null, null);
+		int folhas = tamanho + 1 - Integer.highestOneBit(tamanho + 1);
+		
+		pseudoRaiz.setDireita(raiz);
+		transformarEmLista(pseudoRaiz);
+		/// Primeira passada: só os nós que ficarão no último nível, incompleto; as demais formam níveis completos.
+		comprimir(pseudoRaiz, folhas);
+		for (int restantes = tamanho - folhas; restantes > 1; restantes /= 2)
+			comprimir(pseudoRaiz, restantes / 2);
+		raiz = pseudoRaiz.getDireita();
+		recalcularAlturasEQuantidades();
+		tamanhoMaximo = tamanho;
+	}
+	
+	/** Rotações à direita até que nenhum nó tenha filho à esquerda: a árvore vira uma lista pela direita, em ordem. */
+	private void transformarEmLista(No<K, V> pseudoRaiz) {
+		
+		No<K, V> cauda = pseudoRaiz;
+		No<K, V> resto = cauda.getDireita();
+		
+		while (resto != null) {
+			if (resto.getEsquerda() == null) {
+				cauda = resto;
+				resto = resto.getDireita();
+			} else {
+				No<K, V> esquerda = resto.getEsquerda();
+				resto.setEsquerda(esquerda.getDireita());
+				esquerda.setDireita(resto);
+				resto = esquerda;
+				cauda.setDireita(esquerda);
+			}
+		}
+	}
+	
+	/** Aplica {@code rotacoes} rotações à esquerda, em nós alternados da espinha direita, a partir da pseudo-raiz. */
+	private void comprimir(No<K, V> pseudoRaiz, int rotacoes) {
+		
+		No<K, V> varredor = pseudoRaiz;
+		
+		for (int i = 0; i < rotacoes; i++) {
+			No<K, V> filho = varredor.getDireita();
+			varredor.setDireita(filho.getDireita());
+			varredor = varredor.getDireita();
+			filho.setDireita(varredor.getEsquerda());
+			varredor.setEsquerda(filho);
+		}
+	}
+	
+	/** Recalcula a altura e a quantidade de nós de todas as sub-árvores, num caminhamento pós-ordem com pilha explícita. */
+	private void recalcularAlturasEQuantidades() {
+		
+		Deque<No<K, V>> pilha = new ArrayDeque<>();
+		No<K, V> atual = raiz;
+		No<K, V> ultimoVisitado = null;
+		
+		while (atual != null || !pilha.isEmpty()) {
+			if (atual != null) {
+				pilha.push(atual);
+				atual = atual.getEsquerda();
+			} else {
+				No<K, V> topo = pilha.peek();
+				if (topo.getDireita() != null && topo.getDireita() != ultimoVisitado) {
+					atual = topo.getDireita();
+				} else {
+					topo.setAltura();
+					topo.setQuantidade();
+					ultimoVisitado = pilha.pop();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Estatística de ordem: retorna o item na posição indicada da ordem crescente de chaves (a partir de 0).
+	 * A quantidade de nós de cada sub-árvore esquerda indica de que lado está a posição procurada,
+	 * e o custo é proporcional à altura da árvore.
+	 * @param posicao a posição do item, entre 0 e {@code tamanho() - 1}.
+	 * @return o item na posição indicada.
+	 * @throws IndexOutOfBoundsException se a posição for inválida.
+	 */
+	public V selecionar(int posicao) {
+		
+		No<K, V> atual = raiz;
+		
+		if (posicao < 0 || posicao >= tamanho)
+			throw new IndexOutOfBoundsException("Posição inválida: " + posicao);
+		
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		while (true) {
+			comparacoes++;
+			int aEsquerda = quantidade(atual.getEsquerda());
+			if (posicao == aEsquerda)
+				break;
+			if (posicao < aEsquerda) {
+				atual = atual.getEsquerda();
+			} else {
+				posicao -= aEsquerda + 1;
+				atual = atual.getDireita();
+			}
+		}
+		termino = System.nanoTime();
+		registrar(Operacao.CONSULTAR);
+		return atual.getItem();
+	}
+	
+	/**
+	 * Retorna a posição da chave na ordem crescente de chaves (a partir de 0), isto é, quantas chaves menores do que ela
+	 * existem na árvore. O custo é proporcional à altura da árvore.
+	 * @param chave a chave procurada.
+	 * @return a posição da chave.
+	 * @throws NoSuchElementException se a chave não existir.
+	 */
+	public int posicao(K chave) {
+		
+		No<K, V> atual = raiz;
+		int menores = 0;
+		
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		try {
+			while (true) {
+				comparacoes++;
+				if (atual == null)
+					throw new NoSuchElementException("O item não foi localizado na árvore!");
+				int comparacao = comparador.compare(chave, atual.getChave());
+				if (comparacao == 0)
+					return menores + quantidade(atual.getEsquerda());
+				if (comparacao < 0) {
+					atual = atual.getEsquerda();
+				} else {
+					menores += quantidade(atual.getEsquerda()) + 1;
+					atual = atual.getDireita();
+				}
+			}
+		} finally {
+			termino = System.nanoTime();
+			registrar(Operacao.CONSULTAR);
+		}
+	}
+	
+	/**
+	 * Retorna uma página da listagem em ordem: os itens a partir da posição indicada, no máximo {@code quantidade} deles.
+	 * A posição inicial é localizada como em {@link #selecionar(int)}, guardando numa pilha os nós em que a descida foi
+	 * para a esquerda; dali, o caminhamento em ordem continua normalmente. O custo é O(h + quantidade).
+	 * @param posicao a posição do primeiro item da página, a partir de 0.
+	 * @param quantidade a quantidade máxima de itens na página.
+	 * @return os itens da página (vazia, se a posição for maior ou igual ao tamanho da árvore).
+	 */
+	public List<V> pagina(int posicao, int quantidade) {
+		
+		List<V> itens = new ArrayList<>();
+		Deque<No<K, V>> pilha = new ArrayDeque<>();
+		No<K, V> atual = raiz;
+		
+		if (posicao < 0)
+			throw new IndexOutOfBoundsException("Posição inválida: " + posicao);
+		
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		while (atual != null) {
+			comparacoes++;
+			int aEsquerda = quantidade(atual.getEsquerda());
+			if (posicao <= aEsquerda) {
+				pilha.push(atual);
+				if (posicao == aEsquerda)
+					break;
+				atual = atual.getEsquerda();
+			} else {
+				posicao -= aEsquerda + 1;
+				atual = atual.getDireita();
+			}
+		}
+		
+		while (itens.size() < quantidade && !pilha.isEmpty()) {
+			atual = pilha.pop();
+			itens.add(atual.getItem());
+			for (atual = atual.getDireita(); atual != null; atual = atual.getEsquerda())
+				pilha.push(atual);
+		}
+		termino = System.nanoTime();
+		registrar(Operacao.CONSULTAR);
+		return itens;
+	}
+	
+	private static int quantidade(No<?, ?> no) {
+		return (no == null) ? 0 : no.getQuantidade();
+	}
+
+	/**
+	 * Caminhamento em ordem, pelo iterador da árvore: a memória extra, além do texto gerado, é proporcional à altura da árvore,
+	 * e não há risco de estouro da pilha de execução em árvores degeneradas.
+	 * @return uma string com a representação de cada item, um por linha, em ordem crescente de chave.
+	 */
+	public String caminhamentoEmOrdem() {
+		
+		StringBuilder sb = new StringBuilder();
+		
+		for (Map.Entry<K, V> par : this)
+			sb.append(par.getValue()).append("\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Iterador em ordem crescente de chave. Os pares são produzidos sob demanda, com memória extra proporcional à altura.
+	 * A árvore não deve ser alterada durante a iteração.
+	 */
+	@Override
+	public Iterator<Map.Entry<K, V>> iterator() {
+		return Spliterators.iterator(spliterator());
+	}
+
+	/**
+	 * Divisor para fluxos ({@link Stream}) em ordem crescente de chave, com tamanho exato.
+	 * Na execução paralela, cada divisão separa as posições restantes ao meio, isto é, separa sub-árvores.
+	 */
+	@Override
+	public Spliterator<Map.Entry<K, V>> spliterator() {
+		return new Divisor(0, tamanho);
+	}
+
+	/**
+	 * Fluxo sequencial dos pares (chave, item), em ordem crescente de chave. Para processamento paralelo,
+	 * basta chamar {@code parallel()} sobre o fluxo retornado.
+	 * @return o fluxo dos pares da árvore.
+	 */
+	public Stream<Map.Entry<K, V>> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Divisor que percorre as posições [proxima, fim) da ordem das chaves. O percurso usa uma pilha explícita,
+	 * montada apenas no primeiro avanço, a partir da quantidade de nós de cada sub-árvore, como em {@link #selecionar(int)}.
+	 * Assim, uma divisão custa O(1) e cada parte localiza seu início em O(h).
+	 */
+	private class Divisor implements Spliterator<Map.Entry<K, V>> {
+		
+		private int proxima;               // posição do próximo par a ser produzido.
+		private final int fim;             // posição seguinte à do último par.
+		private Deque<No<K, V>> pilha;     // nós pendentes, com o próximo no topo; null enquanto o percurso não começou.
+		
+		Divisor(int proxima, int fim) {
+			this.proxima = proxima;
+			this.fim = fim;
+		}
+		
+		/** Monta a pilha do caminhamento em ordem a partir da posição indicada. */
+		private void posicionar() {
+			
+			No<K, V> atual = raiz;
+			int posicao = proxima;
+			
+			pilha = new ArrayDeque<>();
+			while (atual != null) {
+				int aEsquerda = quantidade(atual.getEsquerda());
+				if (posicao <= aEsquerda) {
+					pilha.push(atual);
+					if (posicao == aEsquerda)
+						break;
+					atual = atual.getEsquerda();
+				} else {
+					posicao -= aEsquerda + 1;
+					atual = atual.getDireita();
+				}
+			}
+		}
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> acao) {
+			
+			if (proxima >= fim)
+				return false;
+			if (pilha == null)
+				posicionar();
+			
+			No<K, V> atual = pilha.pop();
+			for (No<K, V> filho = atual.getDireita(); filho != null; filho = filho.getEsquerda())
+				pilha.push(filho);
+			proxima++;
+			acao.accept(new AbstractMap.SimpleImmutableEntry<>(atual.getChave(), atual.getItem()));
+			return true;
+		}
+		
+		/**
+		 * Entrega a primeira metade das posições restantes a um novo divisor, que aproveita a pilha já montada,
+		 * e continua a partir do meio.
+		 */
+		@Override
+		public Spliterator<Map.Entry<K, V>> trySplit() {
+			
+			int meio = (proxima + fim) >>> 1;
+			
+			if (meio <= proxima)
+				return null;
+			
+			Divisor primeiraMetade = new Divisor(proxima, meio);
+			primeiraMetade.pilha = pilha;
+			proxima = meio;
+			pilha = null;
+			return primeiraMetade;
+		}
+		
+		@Override
+		public long estimateSize() {
+			return fim - proxima;
+		}
+		
+		@Override
+		public int characteristics() {
+			return ORDERED | SORTED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+		}
+		
+		@Override
+		public Comparator<? super Map.Entry<K, V>> getComparator() {
+			return Map.Entry.comparingByKey(comparador);
+		}
+	}
+
+	/**
+	 * Consulta por intervalo: retorna, em ordem crescente de chave, os itens cujas chaves estão entre {@code min} e {@code max},
+	 * inclusive. Apenas as sub-árvores que podem conter chaves do intervalo são visitadas, com custo O(h + k),
+	 * sendo h a altura da árvore e k a quantidade de itens retornados.
+	 * @param min a menor chave do intervalo.
+	 * @param max a maior chave do intervalo.
+	 * @return a lista de itens do intervalo (vazia, se não houver nenhum).
+	 */
+	public List<V> entre(K min, K max) {
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		try {
+			return coletarAPartirDe(min, chave -> {
+				comparacoes++;
+				return comparador.compare(chave, max) <= 0;
+			});
+		} finally {
+			termino = System.nanoTime();
+			registrar(Operacao.CONSULTAR);
+		}
+	}
+
+	/**
+	 * Consulta por prefixo, para árvores com chaves textuais em ordem natural: retorna, em ordem crescente,
+	 * os itens cujas chaves começam com o prefixo informado. Como essas chaves formam um intervalo contíguo
+	 * a partir do próprio prefixo, o custo também é O(h + k).
+	 * @param arvore a árvore, organizada pela ordem natural de {@link String}.
+	 * @param prefixo o início das chaves procuradas.
+	 * @return a lista de itens com o prefixo (vazia, se não houver nenhum).
+	 */
+	public static <V> List<V> comPrefixo(ABB<String, V> arvore, String prefixo) {
+
+		arvore.comparacoes = 0;
+		arvore.inicio = System.nanoTime();
+		try {
+			return arvore.coletarAPartirDe(prefixo, chave -> {
+				arvore.comparacoes++;
+				return chave.startsWith(prefixo);
+			});
+		} finally {
+			arvore.termino = System.nanoTime();
+			arvore.registrar(Operacao.CONSULTAR);
+		}
+	}
+
+	/**
+	 * Caminhamento em ordem que começa na menor chave maior ou igual a {@code min} e termina na primeira chave
+	 * que não satisfizer o critério de continuação. A pilha recebe apenas os nós com chave maior ou igual a {@code min}:
+	 * as sub-árvores à esquerda deles, com chaves menores, nunca são visitadas.
+	 */
+	private List<V> coletarAPartirDe(K min, Predicate<K> continuar) {
+
+		List<V> itens = new ArrayList<>();
+		Deque<No<K, V>> pilha = new ArrayDeque<>();
+		No<K, V> atual = raiz;
+
+		while (atual != null) {
+			comparacoes++;
+			if (comparador.compare(min, atual.getChave()) <= 0) {
+				pilha.push(atual);
+				atual = atual.getEsquerda();
+			} else {
+				atual = atual.getDireita();
+			}
+		}
+
+		while (!pilha.isEmpty()) {
+			atual = pilha.pop();
+			if (!continuar.test(atual.getChave()))
+				break;
+			itens.add(atual.getItem());
+			for (atual = atual.getDireita(); atual != null; atual = atual.getEsquerda())
+				pilha.push(atual);
+		}
+		return itens;
+	}
+
+	/**
+	 * Retorna o item com a maior chave menor ou igual à chave informada.
+	 * @param chave a chave de referência, que não precisa existir na árvore.
+	 * @return o item encontrado.
+	 * @throws NoSuchElementException se todas as chaves da árvore forem maiores.
+	 */
+	public V menorOuIgual(K chave) {
+		return itemDe(vizinho(chave, true));
+	}
+
+	/**
+	 * Retorna o item com a menor chave maior ou igual à chave informada.
+	 * @param chave a chave de referência, que não precisa existir na árvore.
+	 * @return o item encontrado.
+	 * @throws NoSuchElementException se todas as chaves da árvore forem menores.
+	 */
+	public V maiorOuIgual(K chave) {
+		return itemDe(vizinho(chave, false));
+	}
+
+	/**
+	 * Desce da raiz até a posição da chave, guardando o último nó visto do lado pedido.
+	 * @param menor true para o piso (maior chave menor ou igual), false para o teto (menor chave maior ou igual).
+	 * @return o nó encontrado, ou null se não houver.
+	 */
+	private No<K, V> vizinho(K chave, boolean menor) {
+
+		No<K, V> atual = raiz;
+		No<K, V> candidato = null;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		while (atual != null) {
+			comparacoes++;
+			int comparacao = comparador.compare(chave, atual.getChave());
+			if (comparacao == 0) {
+				candidato = atual;
+				break;
+			}
+			if (comparacao < 0) {
+				if (!menor)
+					candidato = atual;
+				atual = atual.getEsquerda();
+			} else {
+				if (menor)
+					candidato = atual;
+				atual = atual.getDireita();
+			}
+		}
+		termino = System.nanoTime();
+		registrar(Operacao.CONSULTAR);
+		return candidato;
+	}
+
+	/**
+	 * Retorna o item com a menor chave da árvore.
+	 * @throws NoSuchElementException se a árvore estiver vazia.
+	 */
+	public V primeiro() {
+
+		No<K, V> atual = raiz;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		while (atual != null && atual.getEsquerda() != null)
+			atual = atual.getEsquerda();
+		termino = System.nanoTime();
+		registrar(Operacao.CONSULTAR);
+		return itemDe(atual);
+	}
+
+	/**
+	 * Retorna o item com a maior chave da árvore.
+	 * @throws NoSuchElementException se a árvore estiver vazia.
+	 */
+	public V ultimo() {
+
+		No<K, V> atual = raiz;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		while (atual != null && atual.getDireita() != null)
+			atual = atual.getDireita();
+		termino = System.nanoTime();
+		registrar(Operacao.CONSULTAR);
+		return itemDe(atual);
+	}
+
+	private V itemDe(No<K, V> no) {
+
+		if (no == null)
+			throw new NoSuchElementException("O item não foi localizado na árvore!");
+		return no.getItem();
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Altura da árvore (-1, se vazia), mantida nos nós a cada inserção e remoção e, por isso, obtida em tempo constante.
+	 */
+	public int altura() {
+		return (raiz == null) ? -1 : raiz.getAltura();
+	}
+
+	/**
+	 * Diagnóstico da forma da árvore: altura, profundidade média, nós por profundidade, fatores de balanceamento
+	 * ({@link No#getFatorBalanceamento()}) e comparações esperadas nas pesquisas. A árvore é percorrida
+	 * por níveis, com uma fila, em O(n): todos os nós de um nível têm a mesma profundidade, sem que seja preciso guardá-la.
+	 * @return o diagnóstico da forma atual da árvore.
+	 */
+	public FormaArvore forma() {
+
+		Deque<No<K, V>> fila = new ArrayDeque<>();
+		List<Integer> nosPorNivel = new ArrayList<>();
+		SortedMap<Integer, Integer> fatores = new TreeMap<>();
+		long somaProfundidades = 0;
+
+		if (raiz != null)
+			fila.add(raiz);
+		for (int profundidade = 0; !fila.isEmpty(); profundidade++) {
+			int nos = fila.size();
+			nosPorNivel.add(nos);
+			somaProfundidades += (long) nos * profundidade;
+			for (int i = 0; i < nos; i++) {
+				No<K, V> no = fila.poll();
+				fatores.merge(no.getFatorBalanceamento(), 1, Integer::sum);
+				if (no.getEsquerda() != null)
+					fila.add(no.getEsquerda());
+				if (no.getDireita() != null)
+					fila.add(no.getDireita());
+			}
+		}
+		return new FormaArvore(tamanho, somaProfundidades, nosPorNivel.stream().mapToInt(Integer::intValue).toArray(), fatores);
+	}
+	
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	/**
+	 * Registra a última operação, com suas comparações e seu tempo, nas métricas acumuladas, se estiverem ativadas.
+	 * @param operacao o tipo da operação encerrada.
+	 */
+	protected void registrar(Operacao operacao) {
+
+		Metricas atuais = metricas;
+
+		if (atuais != null)
+			atuais.registrar(operacao, comparacoes, termino - inicio);
+	}
+
+	@Override
+	public synchronized void ativarMetricas() {
+		if (metricas == null)
+			metricas = new Metricas();
+	}
+
+	@Override
+	public void desativarMetricas() {
+		metricas = null;
+	}
+
+	@Override
+	public Metricas getMetricas() {
+		return metricas;
+	}
+}
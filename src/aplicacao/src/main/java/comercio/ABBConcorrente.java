@@ -0,0 +1,232 @@
+package comercio;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Versão segura para uso concorrente de uma árvore binária de busca, que pode ser compartilhada entre várias threads.
+ *
+ * As pesquisas começam com uma leitura otimista ({@link StampedLock#tryOptimisticRead()}): a árvore é percorrida sem
+ * bloqueio e, se nenhuma escrita tiver ocorrido no meio do caminho, o resultado é aceito. Caso contrário, a pesquisa é
+ * refeita com a trava de leitura, que pode ser mantida por várias threads ao mesmo tempo. Inserções e remoções usam
+ * a trava exclusiva de escrita.
+ *
+ * As medições (comparações e tempo) são mantidas por thread: {@link #getComparacoes()} e {@link #getTempo()} retornam os
+ * dados da última operação feita pela própria thread que os consulta, sem interferência das demais. As métricas acumuladas
+ * ({@link #getMetricas()}) são as da árvore interna, que somam as operações de todas as threads.
+ */
+public class ABBConcorrente<K, V> implements IMapeamento<K, V> {
+
+	/** Medição da última operação de uma thread. */
+	private static class Medicao {
+		long comparacoes;
+		long inicio;
+		long termino;
+	}
+
+	private final ABB<K, V> arvore;
+	private final StampedLock trava = new StampedLock();
+	private final ThreadLocal<Medicao> medicoes = ThreadLocal.withInitial(Medicao::new);
+
+	/**
+	 * Construtor da classe.
+	 * Usa, internamente, uma árvore AVL com o comparador de ordem natural.
+	 */
+	public ABBConcorrente() {
+		this(new AVL<>());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * @param arvore a árvore a ser protegida. Ela não deve mais ser acessada diretamente, apenas por meio desta classe.
+	 */
+	public ABBConcorrente(ABB<K, V> arvore) {
+		this.arvore = arvore;
+	}
+
+	@Override
+	public V pesquisar(K chave) {
+
+		Medicao medicao = medicoes.get();
+		long carimbo;
+		No<K, V> encontrado;
+
+		medicao.inicio = System.nanoTime();
+		try {
+			carimbo = trava.tryOptimisticRead();
+			if (carimbo != 0) {
+				encontrado = pesquisarOtimista(chave, carimbo, medicao);
+				if (trava.validate(carimbo))
+					return resultado(encontrado);
+			}
+
+			/// A leitura otimista foi invalidada por uma escrita: a pesquisa é refeita com a trava de leitura.
+			carimbo = trava.readLock();
+			try {
+				return resultado(pesquisar(chave, medicao));
+			} finally {
+				trava.unlockRead(carimbo);
+			}
+		} finally {
+			medicao.termino = System.nanoTime();
+			registrar(medicao);
+		}
+	}
+
+	/** Registra a pesquisa da thread atual nas métricas da árvore interna, se estiverem ativadas. */
+	private void registrar(Medicao medicao) {
+
+		Metricas metricas = arvore.metricas;
+
+		if (metricas != null)
+			metricas.registrar(Operacao.PESQUISAR, medicao.comparacoes, medicao.termino - medicao.inicio);
+	}
+
+	private V resultado(No<K, V> encontrado) {
+
+		if (encontrado == null)
+			throw new NoSuchElementException("O item não foi localizado na árvore!");
+		return encontrado.getItem();
+	}
+
+	/**
+	 * Percorre a árvore sem trava. A validade do carimbo é conferida a cada nível, para abandonar o percurso assim que uma escrita
+	 * for detectada; qualquer falha causada por uma escrita simultânea também apenas invalida a tentativa.
+	 * @return o nó encontrado, ou null (que só é confiável se o carimbo continuar válido).
+	 */
+	private No<K, V> pesquisarOtimista(K chave, long carimbo, Medicao medicao) {
+
+		try {
+			medicao.comparacoes = 0;
+			No<K, V> atual = arvore.raiz;
+			while (atual != null && trava.validate(carimbo)) {
+				medicao.comparacoes++;
+				int comparacao = arvore.comparador.compare(chave, atual.getChave());
+				if (comparacao == 0)
+					return atual;
+				atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+			}
+			medicao.comparacoes++;
+		} catch (RuntimeException excecao) {
+			/// Estado intermediário de uma escrita: a validação do carimbo falhará e a pesquisa será refeita.
+		}
+		return null;
+	}
+
+	/** Pesquisa com a trava de leitura já obtida. */
+	private No<K, V> pesquisar(K chave, Medicao medicao) {
+
+		No<K, V> atual = arvore.raiz;
+
+		medicao.comparacoes = 0;
+		while (atual != null) {
+			medicao.comparacoes++;
+			int comparacao = arvore.comparador.compare(chave, atual.getChave());
+			if (comparacao == 0)
+				return atual;
+			atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+		}
+		medicao.comparacoes++;
+		return null;
+	}
+
+	@Override
+	public int inserir(K chave, V item) {
+
+		long carimbo = trava.writeLock();
+
+		try {
+			return arvore.inserir(chave, item);
+		} finally {
+			registrarMedicao();
+			trava.unlockWrite(carimbo);
+		}
+	}
+
+	@Override
+	public V remover(K chave) {
+
+		long carimbo = trava.writeLock();
+
+		try {
+			return arvore.remover(chave);
+		} finally {
+			registrarMedicao();
+			trava.unlockWrite(carimbo);
+		}
+	}
+
+	/** Copia a medição da árvore interna para a thread atual. Deve ser chamado com a trava de escrita. */
+	private void registrarMedicao() {
+
+		Medicao medicao = medicoes.get();
+
+		medicao.comparacoes = arvore.comparacoes;
+		medicao.inicio = arvore.inicio;
+		medicao.termino = arvore.termino;
+	}
+
+	@Override
+	public int tamanho() {
+
+		long carimbo = trava.tryOptimisticRead();
+		int tamanho = arvore.tamanho();
+
+		if (!trava.validate(carimbo)) {
+			carimbo = trava.readLock();
+			try {
+				tamanho = arvore.tamanho();
+			} finally {
+				trava.unlockRead(carimbo);
+			}
+		}
+		return tamanho;
+	}
+
+	@Override
+	public String percorrer() {
+
+		long carimbo = trava.readLock();
+
+		try {
+			return arvore.percorrer();
+		} finally {
+			trava.unlockRead(carimbo);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	/** Comparações realizadas na última operação da thread atual. */
+	@Override
+	public long getComparacoes() {
+		return medicoes.get().comparacoes;
+	}
+
+	/** Tempo, em milissegundos, da última operação da thread atual. */
+	@Override
+	public double getTempo() {
+
+		Medicao medicao = medicoes.get();
+
+		return (medicao.termino - medicao.inicio) / 1_000_000.0;
+	}
+
+	@Override
+	public void ativarMetricas() {
+		arvore.ativarMetricas();
+	}
+
+	@Override
+	public void desativarMetricas() {
+		arvore.desativarMetricas();
+	}
+
+	@Override
+	public Metricas getMetricas() {
+		return arvore.getMetricas();
+	}
+}
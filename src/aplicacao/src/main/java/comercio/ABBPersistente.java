@@ -0,0 +1,380 @@
+package comercio;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Árvore binária de busca persistente (imutável), balanceada pelos critérios da AVL.
+ *
+ * Nenhum nó é alterado depois de publicado: inserções e remoções copiam apenas o caminho da raiz até o ponto alterado
+ * (O(log n) nós novos) e compartilham todas as demais sub-árvores com a versão anterior. Cada versão é, portanto,
+ * um instantâneo consistente, que pode ser lido por qualquer quantidade de threads sem trava alguma.
+ *
+ * Um objeto desta classe aponta para a versão atual, trocada atomicamente a cada escrita (com nova tentativa se outra
+ * thread tiver escrito antes). {@link #instantaneo()} devolve, em tempo constante, uma árvore fixada na versão atual,
+ * que não enxerga as escritas posteriores. As medições são mantidas por thread; as métricas acumuladas
+ * ({@link #getMetricas()}) somam as operações de todas as threads.
+ */
+public class ABBPersistente<K, V> implements IMapeamento<K, V> {
+
+	/** Versão imutável da árvore: a raiz e o tamanho correspondente. */
+	private static final class Versao<K, V> {
+		final No<K, V> raiz;
+		final int tamanho;
+
+		Versao(No<K, V> raiz, int tamanho) {
+			this.raiz = raiz;
+			this.tamanho = tamanho;
+		}
+	}
+
+	/** Resultado auxiliar de uma escrita: se a chave era nova e qual item foi removido. */
+	private static class Escrita<V> {
+		boolean chaveNova;
+		V itemRemovido;
+	}
+
+	/** Medição da última operação de uma thread. */
+	private static class Medicao {
+		long comparacoes;
+		long inicio;
+		long termino;
+	}
+
+	private final AtomicReference<Versao<K, V>> versao;
+	private final Comparator<K> comparador;
+	private final ThreadLocal<Medicao> medicoes = ThreadLocal.withInitial(Medicao::new);
+	private volatile Metricas metricas; // métricas acumuladas das operações de todas as threads, ou null se desativadas.
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */
+	@SuppressWarnings("unchecked")
+	public ABBPersistente() {
+		this((Comparator<K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 */
+	public ABBPersistente(Comparator<K> comparador) {
+		this(comparador, new Versao<>(null, 0));
+	}
+
+	private ABBPersistente(Comparator<K> comparador, Versao<K, V> versao) {
+		this.comparador = comparador;
+		this.versao = new AtomicReference<>(versao);
+	}
+
+	/**
+	 * Retorna uma árvore fixada na versão atual. Nenhum nó é copiado: a nova árvore compartilha toda a estrutura desta,
+	 * e as escritas feitas depois, em qualquer uma das duas, não são vistas pela outra.
+	 * @return o instantâneo da versão atual.
+	 */
+	public ABBPersistente<K, V> instantaneo() {
+		return new ABBPersistente<>(comparador, versao.get());
+	}
+
+	/**
+	 * Retorna uma nova versão com o item inserido, sem alterar esta árvore.
+	 * A operação é medida e registrada nesta árvore, como um {@link #inserir(Object, Object)}; a árvore retornada começa
+	 * sem medições nem métricas.
+	 * @param chave a chave associada ao item.
+	 * @param item o item a ser inserido.
+	 * @return a árvore com a nova versão.
+	 */
+	public ABBPersistente<K, V> comInsercao(K chave, V item) {
+
+		Medicao medicao = medicoes.get();
+		Versao<K, V> atual = versao.get();
+		Escrita<V> escrita = new Escrita<>();
+		No<K, V> novaRaiz;
+
+		medicao.comparacoes = 0;
+		medicao.inicio = System.nanoTime();
+		novaRaiz = inserir(atual.raiz, chave, item, escrita, medicao);
+		medicao.termino = System.nanoTime();
+		registrar(Operacao.INSERIR, medicao);
+
+		return new ABBPersistente<>(comparador, new Versao<>(novaRaiz, atual.tamanho + (escrita.chaveNova ? 1 : 0)));
+	}
+
+	/**
+	 * Retorna uma nova versão sem a chave informada, sem alterar esta árvore.
+	 * A operação é medida e registrada nesta árvore, como um {@link #remover(Object)}; a árvore retornada começa sem
+	 * medições nem métricas.
+	 * @param chave a chave do item a ser removido.
+	 * @return a árvore com a nova versão.
+	 * @throws NoSuchElementException se a chave não existir.
+	 */
+	public ABBPersistente<K, V> semChave(K chave) {
+
+		Medicao medicao = medicoes.get();
+		Versao<K, V> atual = versao.get();
+		No<K, V> novaRaiz;
+
+		medicao.comparacoes = 0;
+		medicao.inicio = System.nanoTime();
+		try {
+			novaRaiz = remover(atual.raiz, chave, new Escrita<>(), medicao);
+		} finally {
+			medicao.termino = System.nanoTime();
+			registrar(Operacao.REMOVER, medicao);
+		}
+
+		return new ABBPersistente<>(comparador, new Versao<>(novaRaiz, atual.tamanho - 1));
+	}
+
+	@Override
+	public V pesquisar(K chave) {
+
+		Medicao medicao = medicoes.get();
+		No<K, V> atual = versao.get().raiz;
+
+		medicao.comparacoes = 0;
+		medicao.inicio = System.nanoTime();
+		try {
+			while (true) {
+				medicao.comparacoes++;
+				if (atual == null)
+					throw new NoSuchElementException("O item não foi localizado na árvore!");
+
+				int comparacao = comparador.compare(chave, atual.getChave());
+				if (comparacao == 0)
+					return atual.getItem();
+				atual = (comparacao < 0) ? atual.getEsquerda() : atual.getDireita();
+			}
+		} finally {
+			medicao.termino = System.nanoTime();
+			registrar(Operacao.PESQUISAR, medicao);
+		}
+	}
+
+	@Override
+	public int inserir(K chave, V item) {
+
+		Medicao medicao = medicoes.get();
+		Versao<K, V> atual, nova;
+
+		medicao.inicio = System.nanoTime();
+		do {
+			/// Se outra thread publicar uma versão entre a leitura e a troca, a escrita é refeita sobre a versão mais nova.
+			Escrita<V> escrita = new Escrita<>();
+			medicao.comparacoes = 0;
+			atual = versao.get();
+			No<K, V> novaRaiz = inserir(atual.raiz, chave, item, escrita, medicao);
+			nova = new Versao<>(novaRaiz, atual.tamanho + (escrita.chaveNova ? 1 : 0));
+		} while (!versao.compareAndSet(atual, nova));
+		medicao.termino = System.nanoTime();
+		registrar(Operacao.INSERIR, medicao);
+
+		return nova.tamanho;
+	}
+
+	@Override
+	public V remover(K chave) {
+
+		Medicao medicao = medicoes.get();
+		Versao<K, V> atual;
+		Escrita<V> escrita;
+
+		medicao.inicio = System.nanoTime();
+		try {
+			do {
+				escrita = new Escrita<>();
+				medicao.comparacoes = 0;
+				atual = versao.get();
+				No<K, V> novaRaiz = remover(atual.raiz, chave, escrita, medicao);
+				if (versao.compareAndSet(atual, new Versao<>(novaRaiz, atual.tamanho - 1)))
+					break;
+			} while (true);
+		} finally {
+			medicao.termino = System.nanoTime();
+			registrar(Operacao.REMOVER, medicao);
+		}
+		return escrita.itemRemovido;
+	}
+
+	/** Inserção com cópia do caminho: cada nó visitado é substituído por uma cópia, rebalanceada se necessário. */
+	private No<K, V> inserir(No<K, V> no, K chave, V item, Escrita<V> escrita, Medicao medicao) {
+
+		if (no == null) {
+			escrita.chaveNova = true;
+			return criar(chave, item, null, null);
+		}
+
+		medicao.comparacoes++;
+		int comparacao = comparador.compare(chave, no.getChave());
+
+		if (comparacao < 0)
+			return balancear(no.getChave(), no.getItem(), inserir(no.getEsquerda(), chave, item, escrita, medicao), no.getDireita());
+		else if (comparacao > 0)
+			return balancear(no.getChave(), no.getItem(), no.getEsquerda(), inserir(no.getDireita(), chave, item, escrita, medicao));
+		else
+			return criar(chave, item, no.getEsquerda(), no.getDireita());
+	}
+
+	/** Remoção com cópia do caminho. Um nó com dois filhos é substituído por uma cópia do seu sucessor. */
+	private No<K, V> remover(No<K, V> no, K chave, Escrita<V> escrita, Medicao medicao) {
+
+		medicao.comparacoes++;
+		if (no == null)
+			throw new NoSuchElementException("O item não foi localizado na árvore!");
+
+		int comparacao = comparador.compare(chave, no.getChave());
+
+		if (comparacao < 0)
+			return balancear(no.getChave(), no.getItem(), remover(no.getEsquerda(), chave, escrita, medicao), no.getDireita());
+		else if (comparacao > 0)
+			return balancear(no.getChave(), no.getItem(), no.getEsquerda(), remover(no.getDireita(), chave, escrita, medicao));
+
+		escrita.itemRemovido = no.getItem();
+		if (no.getEsquerda() == null)
+			return no.getDireita();
+		if (no.getDireita() == null)
+			return no.getEsquerda();
+
+		No<K, V> sucessor = no.getDireita();
+		while (sucessor.getEsquerda() != null)
+			sucessor = sucessor.getEsquerda();
+		return balancear(sucessor.getChave(), sucessor.getItem(), no.getEsquerda(), removerMenor(no.getDireita()));
+	}
+
+	private No<K, V> removerMenor(No<K, V> no) {
+
+		if (no.getEsquerda() == null)
+			return no.getDireita();
+		return balancear(no.getChave(), no.getItem(), removerMenor(no.getEsquerda()), no.getDireita());
+	}
+
+	/** Cria um nó novo, já com a altura e a quantidade de nós da sub-árvore calculadas. */
+	private No<K, V> criar(K chave, V item, No<K, V> esquerda, No<K, V> direita) {
+
+		No<K, V> no = new No<>(chave, item);
+
+		no.setEsquerda(esquerda);
+		no.setDireita(direita);
+		no.setAltura();
+		no.setQuantidade();
+		return no;
+	}
+
+	private static int altura(No<?, ?> no) {
+		return (no == null) ? -1 : no.getAltura();
+	}
+
+	/**
+	 * Cria o nó (chave, item) com os filhos informados, aplicando a rotação simples ou dupla necessária
+	 * quando as alturas dos filhos diferem em mais de 1. As rotações também criam nós novos.
+	 */
+	private No<K, V> balancear(K chave, V item, No<K, V> esquerda, No<K, V> direita) {
+
+		if (altura(esquerda) > altura(direita) + 1) {
+			if (altura(esquerda.getEsquerda()) >= altura(esquerda.getDireita()))
+				return criar(esquerda.getChave(), esquerda.getItem(), esquerda.getEsquerda(),
+						criar(chave, item, esquerda.getDireita(), direita));
+			No<K, V> meio = esquerda.getDireita();
+			return criar(meio.getChave(), meio.getItem(),
+					criar(esquerda.getChave(), esquerda.getItem(), esquerda.getEsquerda(), meio.getEsquerda()),
+					criar(chave, item, meio.getDireita(), direita));
+		}
+
+		if (altura(direita) > altura(esquerda) + 1) {
+			if (altura(direita.getDireita()) >= altura(direita.getEsquerda()))
+				return criar(direita.getChave(), direita.getItem(),
+						criar(chave, item, esquerda, direita.getEsquerda()), direita.getDireita());
+			No<K, V> meio = direita.getEsquerda();
+			return criar(meio.getChave(), meio.getItem(),
+					criar(chave, item, esquerda, meio.getEsquerda()),
+					criar(direita.getChave(), direita.getItem(), meio.getDireita(), direita.getDireita()));
+		}
+
+		return criar(chave, item, esquerda, direita);
+	}
+
+	@Override
+	public int tamanho() {
+		return versao.get().tamanho;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	/**
+	 * Lista os itens da versão atual em ordem crescente de chave, um por linha, com pilha explícita.
+	 */
+	@Override
+	public String percorrer() {
+
+		StringBuilder sb = new StringBuilder();
+		Deque<No<K, V>> pilha = new ArrayDeque<>();
+		No<K, V> atual = versao.get().raiz;
+
+		while (atual != null || !pilha.isEmpty()) {
+			while (atual != null) {
+				pilha.push(atual);
+				atual = atual.getEsquerda();
+			}
+			atual = pilha.pop();
+			sb.append(atual.getItem()).append("\n");
+			atual = atual.getDireita();
+		}
+		return sb.toString();
+	}
+
+	/** Raiz da versão atual, para os testes conferirem a estrutura. */
+	No<K, V> raiz() {
+		return versao.get().raiz;
+	}
+
+	/** Comparações realizadas na última operação da thread atual. */
+	@Override
+	public long getComparacoes() {
+		return medicoes.get().comparacoes;
+	}
+
+	/** Tempo, em milissegundos, da última operação da thread atual. */
+	@Override
+	public double getTempo() {
+
+		Medicao medicao = medicoes.get();
+
+		return (medicao.termino - medicao.inicio) / 1_000_000.0;
+	}
+
+	/**
+	 * Registra a última operação da thread, com suas comparações e seu tempo, nas métricas acumuladas, se estiverem ativadas.
+	 * @param operacao o tipo da operação encerrada.
+	 * @param medicao a medição da operação, da própria thread.
+	 */
+	private void registrar(Operacao operacao, Medicao medicao) {
+
+		Metricas atuais = metricas;
+
+		if (atuais != null)
+			atuais.registrar(operacao, medicao.comparacoes, medicao.termino - medicao.inicio);
+	}
+
+	@Override
+	public synchronized void ativarMetricas() {
+		if (metricas == null)
+			metricas = new Metricas();
+	}
+
+	@Override
+	public void desativarMetricas() {
+		metricas = null;
+	}
+
+	@Override
+	public Metricas getMetricas() {
+		return metricas;
+	}
+}
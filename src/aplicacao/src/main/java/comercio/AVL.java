@@ -0,0 +1,225 @@
+package comercio;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+public class AVL<K, V> extends ABB<K, V> {
+
+	private V itemRemovido; // item retirado na última remoção, devolvido ao término da recursão.
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */
+	public AVL() {
+		super();
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Esse construtor cria uma nova árvore AVL vazia.
+	 *
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 */
+	public AVL(Comparator<K> comparador) {
+		super(comparador);
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma nova árvore AVL com os mesmos itens de uma outra árvore binária de busca, mas usando uma nova chave.
+	 * Como a carga em lote já produz uma árvore perfeitamente balanceada, nenhuma rotação é necessária.
+	 * @param original a árvore binária de busca original.
+	 * @param funcaoChave a função que irá extrair a nova chave de cada item para a nova árvore.
+	 */
+	public AVL(ABB<?, V> original, Function<V, K> funcaoChave) {
+		super(original, funcaoChave);
+	}
+
+	@Override
+	/**
+	 * A AVL mantém o balanceamento por rotações, a cada inserção e remoção: a política do bode expiatório não se aplica.
+	 * @throws UnsupportedOperationException sempre.
+	 */
+	public void ativarBodeExpiatorio(double alfa) {
+		throw new UnsupportedOperationException("A árvore AVL não usa a política do bode expiatório.");
+	}
+
+	@Override
+	/**
+	 * Método que encapsula a adição recursiva de itens à árvore, associando-o à chave fornecida.
+	 * Após a inserção, a árvore é rebalanceada no caminho de volta até a raiz.
+	 * @param chave a chave associada ao item que será inserido na árvore.
+	 * @param item o item que será inserido na árvore.
+	 *
+	 * @return o tamanho atualizado da árvore após a execução da operação de inserção.
+	 */
+	public int inserir(K chave, V item) {
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		raiz = inserir(raiz, chave, item);
+		termino = System.nanoTime();
+		registrar(Operacao.INSERIR);
+		return tamanho;
+	}
+
+	private No<K, V> inserir(No<K, V> raizArvore, K chave, V item) {
+
+		int comparacao;
+
+		if (raizArvore == null) {
+			/// Posição de inserção encontrada: o novo nó é uma folha.
+			tamanho++;
+			return new No<>(chave, item);
+		}
+
+		comparacoes++;
+		comparacao = comparador.compare(chave, raizArvore.getChave());
+
+		if (comparacao < 0)
+			raizArvore.setEsquerda(inserir(raizArvore.getEsquerda(), chave, item));
+		else if (comparacao > 0)
+			raizArvore.setDireita(inserir(raizArvore.getDireita(), chave, item));
+		else {
+			/// Chave já existente: apenas atualiza o item, sem alterar a forma da árvore.
+			raizArvore.setItem(item);
+			return raizArvore;
+		}
+
+		return balancear(raizArvore);
+	}
+
+	@Override
+	/**
+	 * Método que encapsula a remoção recursiva de um item da árvore.
+	 * Após a remoção, a árvore é rebalanceada no caminho de volta até a raiz.
+	 * @param chave a chave do item que deverá ser localizado e removido da árvore.
+	 * @return o valor associado ao item removido.
+	 */
+	public V remover(K chave) {
+
+		V removido;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		try {
+			raiz = remover(raiz, chave);
+			tamanho--;
+			removido = itemRemovido;
+		} finally {
+			itemRemovido = null;
+			termino = System.nanoTime();
+			registrar(Operacao.REMOVER);
+		}
+		return removido;
+	}
+
+	private No<K, V> remover(No<K, V> raizArvore, K chave) {
+
+		int comparacao;
+
+		comparacoes++;
+		if (raizArvore == null)
+			throw new NoSuchElementException("O item não foi localizado na árvore!");
+
+		comparacao = comparador.compare(chave, raizArvore.getChave());
+
+		if (comparacao < 0)
+			raizArvore.setEsquerda(remover(raizArvore.getEsquerda(), chave));
+		else if (comparacao > 0)
+			raizArvore.setDireita(remover(raizArvore.getDireita(), chave));
+		else {
+			itemRemovido = raizArvore.getItem();
+
+			/// Nó com 0 ou 1 filho: é substituído pelo seu único filho (ou por null).
+			if (raizArvore.getEsquerda() == null)
+				return raizArvore.getDireita();
+			else if (raizArvore.getDireita() == null)
+				return raizArvore.getEsquerda();
+
+			/// Nó com 2 filhos: recebe os dados do sucessor, que é retirado da sub-árvore direita.
+			raizArvore.setDireita(removerSucessor(raizArvore, raizArvore.getDireita()));
+		}
+
+		return balancear(raizArvore);
+	}
+
+	/**
+	 * Retira o menor nó da sub-árvore informada, copiando sua chave e seu item para o nó que está sendo removido.
+	 * @param noRemovido nó que receberá os dados do sucessor.
+	 * @param raizArvore raiz da sub-árvore direita do nó removido.
+	 * @return a nova raiz da sub-árvore, já balanceada.
+	 */
+	private No<K, V> removerSucessor(No<K, V> noRemovido, No<K, V> raizArvore) {
+
+		if (raizArvore.getEsquerda() == null) {
+			noRemovido.setChave(raizArvore.getChave());
+			noRemovido.setItem(raizArvore.getItem());
+			return raizArvore.getDireita();
+		}
+
+		comparacoes++;
+		raizArvore.setEsquerda(removerSucessor(noRemovido, raizArvore.getEsquerda()));
+		return balancear(raizArvore);
+	}
+
+	/**
+	 * Atualiza a altura do nó e, caso seu fator de balanceamento esteja fora do intervalo [-1, 1],
+	 * aplica a rotação simples ou dupla correspondente.
+	 * @param raizArvore o nó a ser balanceado.
+	 * @return a nova raiz da sub-árvore.
+	 */
+	private No<K, V> balancear(No<K, V> raizArvore) {
+
+		int fatorBalanceamento;
+
+		raizArvore.setAltura();
+		raizArvore.setQuantidade();
+		fatorBalanceamento = raizArvore.getFatorBalanceamento();
+
+		if (fatorBalanceamento > 1) {
+			/// Sub-árvore esquerda mais alta. Caso esquerda-direita exige rotação dupla.
+			if (raizArvore.getEsquerda().getFatorBalanceamento() < 0)
+				raizArvore.setEsquerda(rotacionarEsquerda(raizArvore.getEsquerda()));
+			return rotacionarDireita(raizArvore);
+		} else if (fatorBalanceamento < -1) {
+			/// Sub-árvore direita mais alta. Caso direita-esquerda exige rotação dupla.
+			if (raizArvore.getDireita().getFatorBalanceamento() > 0)
+				raizArvore.setDireita(rotacionarDireita(raizArvore.getDireita()));
+			return rotacionarEsquerda(raizArvore);
+		}
+
+		return raizArvore;
+	}
+
+	private No<K, V> rotacionarDireita(No<K, V> p) {
+
+		No<K, V> u = p.getEsquerda();
+
+		p.setEsquerda(u.getDireita());
+		u.setDireita(p);
+
+		p.setAltura();
+		u.setAltura();
+		p.setQuantidade();
+		u.setQuantidade();
+
+		return u;
+	}
+
+	private No<K, V> rotacionarEsquerda(No<K, V> p) {
+
+		No<K, V> z = p.getDireita();
+
+		p.setDireita(z.getEsquerda());
+		z.setEsquerda(p);
+
+		p.setAltura();
+		z.setAltura();
+		p.setQuantidade();
+		z.setQuantidade();
+
+		return z;
+	}
+}
@@ -0,0 +1,607 @@
+package comercio;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+import java.util.function.Consumer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.lang.reflect.InvocationTargetException;
+
+public class App {
+
+	/** Nome do arquivo de dados. O arquivo deve estar localizado na raiz do projeto */
+    static String nomeArquivoDados;
+    
+    /** Nome do instantâneo binário dos produtos, gravado após a leitura do arquivo de dados e usado nas cargas seguintes */
+    static String nomeArquivoInstantaneo;
+    
+    /** Scanner para leitura de dados do teclado */
+    static Scanner teclado;
+
+    /** Quantidade de produtos cadastrados atualmente na lista */
+    static int quantosProdutos = 0;
+    
+    /** Quantidade de threads usadas na carga dos produtos. Com 1, a carga é sequencial. */
+    static int paralelismo = Runtime.getRuntime().availableProcessors();
+
+    static ABB<String, Produto> produtosCadastradosPorNome;
+    
+    /** Tabela hash usada nas pesquisas exatas por nome, que não precisam da ordem mantida pela árvore. */
+    static TabelaHash<String, Produto> tabelaProdutosPorNome;
+    
+    static MapeamentoInteiro<Produto> produtosCadastradosPorId;
+    
+    /** Índice por valor de venda, montado a partir da árvore por nome e atualizado com os descontos dos perecíveis. */
+    static IndicePorPreco produtosPorPreco;
+    
+    /** Índice dos perecíveis por validade, usado na retirada diária dos produtos vencidos. */
+    static IndiceDeValidade produtosPorValidade;
+    
+    /** Dia, em dias desde 01/01/1970, da última retirada dos produtos vencidos */
+    static long diaDaUltimaVarredura;
+    
+    /** Antecedência, em dias, do aviso de validade dos perecíveis */
+    static final int DIAS_AVISO_VALIDADE = 7;
+    
+    /** Razão entre a altura de uma árvore e a menor altura possível a partir da qual sua forma é apontada como problema */
+    static final double RAZAO_ALTURA_ALERTA = 2.0;
+    
+    /** Quantidade de produtos em cada página da listagem paginada */
+    static final int PRODUTOS_POR_PAGINA = 20;
+    
+    /** Saída bufferizada das listagens, que evita uma escrita no terminal a cada linha. Esvaziada ao fim de cada listagem */
+    static BufferedWriter saida;
+    
+    /** Buffers reaproveitados na descrição dos produtos listados */
+    static StringBuilder linhaListagem = new StringBuilder(256);
+    static char[] bufferListagem = new char[256];
+    
+    static void limparTela() {
+        System.out.print("\033[H\033[2J");
+        System.out.flush();
+    }
+
+    /** Gera um efeito de pausa na CLI. Espera por um enter para continuar */
+    static void pausa() {
+        System.out.println("Digite enter para continuar...");
+        teclado.nextLine();
+    }
+
+    /** Cabeçalho principal da CLI do sistema */
+    static void cabecalho() {
+        System.out.println("AEDs II COMÉRCIO DE COISINHAS");
+        System.out.println("=============================");
+    }
+   
+    static <T extends Number> T lerOpcao(String mensagem, Class<T> classe) {
+        
+    	T valor;
+        
+    	System.out.println(mensagem);
+    	try {
+            valor = classe.getConstructor(String.class).newInstance(teclado.nextLine());
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException 
+        		| InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+        return valor;
+    }
+    
+    /** Imprime o menu principal, lê a opção do usuário e a retorna (int).
+     * @return Um inteiro com a opção do usuário.
+    */
+    static int menu() {
+        cabecalho();
+        System.out.println("1 - Listar todos os produtos");
+        System.out.println("2 - Carregar produtos (índices por nome/descrição e por id)");
+        System.out.println("3 - Recarregar produtos");
+        System.out.println("4 - Procurar produto, por nome");
+        System.out.println("5 - Procurar produto, por id");
+        System.out.println("6 - Listar produtos pelo início do nome");
+        System.out.println("7 - Listar produtos, por páginas");
+        System.out.println("8 - Listar produtos por faixa de preço");
+        System.out.println("9 - Listar produtos perecíveis a vencer");
+        System.out.println("10 - Estatísticas de desempenho dos índices");
+        System.out.println("0 - Sair");
+        System.out.print("Digite sua opção: ");
+        return Integer.parseInt(teclado.nextLine());
+    }
+    
+    /**
+     * Lê os dados de um arquivo-texto e entrega cada produto lido a todos os destinos informados. Arquivo-texto no formato
+     * N (quantidade de produtos) <br/>
+     * tipo;descrição;preçoDeCusto;margemDeLucro;[dataDeValidade] <br/>
+     * Deve haver uma linha para cada um dos produtos.
+     * @param nomeArquivoDados Nome do arquivo de dados a ser aberto.
+     * @param destinos Ações que recebem cada produto lido (normalmente, a inserção em estruturas de busca).
+     * @return true se o arquivo foi lido por completo, false em caso de problemas de leitura.
+     */
+    @SafeVarargs
+    static boolean lerArquivoProdutos(String nomeArquivoDados, Consumer<Produto>... destinos) {
+    	
+    	try {
+    		quantosProdutos = LeitorProdutos.ler(nomeArquivoDados, destinos);
+    	} catch (IOException excecaoArquivo) {
+    		return false;
+    	}
+    	
+    	return true;
+    }
+    
+    /**
+     * Lê os dados de um arquivo-texto numa única passada, preenchendo todos os índices a partir das mesmas instâncias de produto:
+     * a árvore por nome (usada nas listagens), a tabela hash por nome e o mapeamento por id (usados nas pesquisas).
+     * Os índices só são substituídos se a leitura for concluída, e sempre em conjunto, de forma que permanecem consistentes entre si.
+     * Se {@link #paralelismo} for maior que 1, a carga é feita em paralelo.
+     * Se houver um instantâneo binário mais recente que o arquivo de dados, a carga é feita a partir dele;
+     * caso contrário, o instantâneo é gravado ao final da leitura do arquivo-texto.
+     * @param nomeArquivoDados Nome do arquivo de dados a ser aberto.
+     * @return true se o arquivo foi lido por completo, false em caso de problemas de leitura.
+     */
+    static boolean carregarProdutos(String nomeArquivoDados) {
+    	
+    	ABB<String, Produto> arvore = new AVL<>();
+    	TabelaHash<String, Produto> tabela;
+    	MapeamentoInteiro<Produto> porId;
+    	Produto[] produtos;
+    	
+    	if (nomeArquivoInstantaneo != null && InstantaneoProdutos.atualizado(nomeArquivoInstantaneo, nomeArquivoDados)) {
+    		try {
+    			carregarInstantaneo(nomeArquivoInstantaneo);
+    			return true;
+    		} catch (IOException excecaoInstantaneo) {
+    			/// Instantâneo inválido: a carga segue pelo arquivo-texto.
+    		}
+    	}
+    	
+    	if (paralelismo > 1) {
+    		/// Carga paralela: conversão dos blocos do arquivo em paralelo e árvore montada por ordenação paralela e carga em lote.
+    		try {
+    			produtos = LeitorProdutos.lerEmParalelo(nomeArquivoDados, paralelismo);
+    		} catch (IOException excecaoArquivo) {
+    			return false;
+    		}
+    		LeitorProdutos.indexarOrdenado(arvore, produtos, p -> p.descricao, paralelismo);
+    		tabela = new TabelaHash<>(produtos.length);
+    		porId = new MapeamentoInteiro<>(produtos.length);
+    		for (Produto produto : produtos) {
+    			tabela.inserir(produto.descricao, produto);
+    			porId.inserir(produto.idProduto, produto);
+    		}
+    		quantosProdutos = produtos.length;
+    	} else {
+    		TabelaHash<String, Produto> tabelaSequencial = new TabelaHash<>();
+    		MapeamentoInteiro<Produto> porIdSequencial = new MapeamentoInteiro<>();
+    		List<Produto> lidos = new ArrayList<>();
+    		if (!lerArquivoProdutos(nomeArquivoDados,
+    				LeitorProdutos.indexar(arvore, p -> p.descricao),
+    				LeitorProdutos.indexar(tabelaSequencial, p -> p.descricao),
+    				p -> porIdSequencial.inserir(p.idProduto, p),
+    				lidos::add))
+    			return false;
+    		tabela = tabelaSequencial;
+    		porId = porIdSequencial;
+    		produtos = lidos.toArray(new Produto[0]);
+    	}
+    	
+    	publicarIndices(produtos, arvore, tabela, porId);
+    	
+    	if (nomeArquivoInstantaneo != null) {
+    		try {
+    			InstantaneoProdutos.gravar(produtos, arvore, nomeArquivoInstantaneo);
+    		} catch (IOException excecaoInstantaneo) {
+    			/// Sem o instantâneo, a próxima carga volta a usar o arquivo-texto.
+    		}
+    	}
+    	return true;
+    }
+    
+    /**
+     * Carrega todos os índices a partir do instantâneo binário. Os produtos estão gravados na ordem do arquivo-texto,
+     * com todos os identificadores: o mapeamento por id e a tabela por nome recebem-nos nessa ordem, e a árvore por nome
+     * é montada por carga em lote na ordem gravada, sem comparações de chaves. Entre produtos de mesma descrição,
+     * prevalece nos índices por nome o último, como na leitura do arquivo-texto.
+     * @param nomeArquivo Nome do instantâneo binário.
+     * @throws IOException em caso de problemas na leitura do instantâneo.
+     */
+    static void carregarInstantaneo(String nomeArquivo) throws IOException {
+    	
+    	InstantaneoProdutos.Conteudo conteudo = InstantaneoProdutos.ler(nomeArquivo);
+    	Produto[] produtos = conteudo.produtos;
+    	ABB<String, Produto> arvore = new AVL<>();
+    	TabelaHash<String, Produto> tabela = new TabelaHash<>(produtos.length);
+    	MapeamentoInteiro<Produto> porId = new MapeamentoInteiro<>(produtos.length);
+    	
+    	conteudo.montarArvorePorNome(arvore);
+    	for (Produto produto : produtos) {
+    		tabela.inserir(produto.descricao, produto);
+    		porId.inserir(produto.idProduto, produto);
+    	}
+    	
+    	publicarIndices(produtos, arvore, tabela, porId);
+    	quantosProdutos = produtos.length;
+    }
+    
+    /**
+     * Substitui, em conjunto, os índices de produtos pelos recém-carregados, e monta a partir de todos os produtos lidos
+     * (e não da árvore por nome, que guarda um só produto por descrição) o índice por preço e o índice por validade.
+     */
+    static void publicarIndices(Produto[] produtos, ABB<String, Produto> arvore, TabelaHash<String, Produto> tabela,
+    		MapeamentoInteiro<Produto> porId) {
+    	
+    	produtosCadastradosPorNome = arvore;
+    	tabelaProdutosPorNome = tabela;
+    	produtosCadastradosPorId = porId;
+    	produtosPorPreco = new IndicePorPreco(produtos);
+    	produtosPorValidade = new IndiceDeValidade(produtos);
+    	diaDaUltimaVarredura = ProdutoPerecivel.diaDeHoje();
+    	
+    	/// As métricas são ativadas só depois da carga, para acumularem apenas as operações feitas pelo usuário.
+    	for (IMedicao indice : indicesMedidos())
+    		indice.ativarMetricas();
+    }
+    
+    /** Índices de produtos com métricas acumuladas, na ordem em que aparecem nas estatísticas. */
+    static IMedicao[] indicesMedidos() {
+    	return new IMedicao[] { produtosCadastradosPorNome, tabelaProdutosPorNome, produtosCadastradosPorId, produtosPorPreco };
+    }
+    
+    /**
+     * Retira os produtos vencidos de todos os índices. Os vencidos vêm do índice por validade, sem percorrer o catálogo,
+     * e cada um sai da árvore e da tabela por nome (se ainda for o produto associado ao nome) e do mapeamento por id.
+     * O índice por preço retira os seus na própria atualização.
+     * As pesquisas e remoções da varredura são feitas pelo sistema, e não pelo usuário: o registro das métricas dos índices
+     * fica suspenso durante ela.
+     * @return os produtos retirados, em ordem de validade.
+     */
+    static List<ProdutoPerecivel> retirarProdutosVencidos() {
+    	
+    	List<Metricas> suspensas = new ArrayList<>();
+    	List<ProdutoPerecivel> vencidos;
+    	
+    	for (IMedicao indice : indicesMedidos()) {
+    		Metricas metricas = indice.getMetricas();
+    		if (metricas != null) {
+    			metricas.suspender();
+    			suspensas.add(metricas);
+    		}
+    	}
+    	try {
+    		vencidos = produtosPorValidade.retirarVencidos();
+    		produtosPorPreco.atualizar();
+    		for (ProdutoPerecivel produto : vencidos) {
+    			retirarSeAssociado(produtosCadastradosPorNome, produto.descricao, produto);
+    			retirarSeAssociado(tabelaProdutosPorNome, produto.descricao, produto);
+    			retirarSeAssociado(produtosCadastradosPorId, produto.idProduto, produto);
+    		}
+    	} finally {
+    		for (Metricas metricas : suspensas)
+    			metricas.retomar();
+    	}
+    	quantosProdutos = produtosCadastradosPorId.tamanho();
+    	diaDaUltimaVarredura = ProdutoPerecivel.diaDeHoje();
+    	return vencidos;
+    }
+    
+    /** Retira a chave do índice, se ela ainda estiver associada ao produto informado. */
+    static <K> void retirarSeAssociado(IMapeamento<K, Produto> indice, K chave, Produto produto) {
+    	
+    	try {
+    		if (indice.pesquisar(chave) == produto)
+    			indice.remover(chave);
+    	} catch (NoSuchElementException excecao) {
+    		/// Chave já retirada do índice.
+    	}
+    }
+    
+    /** Retira os produtos vencidos e lista os perecíveis que vencem nos próximos dias, já com desconto ou prestes a tê-lo. */
+    static void listarProdutosAVencer() {
+    	
+    	cabecalho();
+    	System.out.println("PRODUTOS PERECÍVEIS A VENCER");
+    	System.out.println("============================");
+    	
+    	System.out.println(retirarProdutosVencidos().size() + " produto(s) vencido(s) retirado(s) do cadastro.");
+    	
+    	List<ProdutoPerecivel> proximos = produtosPorValidade.vencendoAte(ProdutoPerecivel.diaDeHoje() + DIAS_AVISO_VALIDADE);
+    	try {
+    		escreverProdutos(proximos);
+    		saida.flush();
+    	} catch (IOException excecaoEscrita) {
+    		System.out.println("Erro na escrita da listagem!");
+    	}
+    	System.out.println(proximos.size() + " produto(s) vencem nos próximos " + DIAS_AVISO_VALIDADE + " dias.");
+    }
+    
+    static <K> Produto localizarProduto(IMapeamento<K, Produto> produtosCadastrados, K procurado) {
+    	
+    	Produto produto;
+    	
+    	cabecalho();
+    	System.out.println("Localizando um produto...");
+    	
+    	try {
+    		produto = produtosCadastrados.pesquisar(procurado);
+    	} catch (NoSuchElementException excecao) {
+    		produto = null;
+    	}
+    	
+    	mostrarMedicao(produtosCadastrados);
+        
+    	return produto;
+    	
+    }
+    
+    /** Versão de {@link #localizarProduto(IMapeamento, Object)} para o mapeamento por id, que pesquisa a chave primitiva. */
+    static Produto localizarProduto(MapeamentoInteiro<Produto> produtosCadastrados, int procurado) {
+    	
+    	Produto produto;
+    	
+    	cabecalho();
+    	System.out.println("Localizando um produto...");
+    	
+    	try {
+    		produto = produtosCadastrados.pesquisar(procurado);
+    	} catch (NoSuchElementException excecao) {
+    		produto = null;
+    	}
+    	
+    	mostrarMedicao(produtosCadastrados);
+        
+    	return produto;
+    }
+    
+    /**
+     * Mostra as métricas acumuladas de cada índice desde a carga dos produtos: quantidade de operações de cada tipo,
+     * comparações médias e latências (média, p50, p99 e máxima). Para as árvores, mostra também sua forma.
+     */
+    static void mostrarMetricas() {
+    	
+    	String[] nomes = { "Árvore por nome", "Tabela hash por nome", "Mapeamento por id", "Índice por preço" };
+    	IMedicao[] indices = indicesMedidos();
+    	
+    	cabecalho();
+    	System.out.println("ESTATÍSTICAS DE DESEMPENHO DOS ÍNDICES");
+    	System.out.println("======================================");
+    	for (int i = 0; i < indices.length; i++) {
+    		Metricas metricas = (indices[i] != null) ? indices[i].getMetricas() : null;
+    		System.out.println(nomes[i] + ":");
+    		System.out.println((metricas != null) ? metricas : "Sem métricas: produtos não carregados.\n");
+    	}
+    	if (produtosCadastradosPorNome != null) {
+    		mostrarForma("Árvore por nome", produtosCadastradosPorNome.forma());
+    		mostrarForma("Índice por preço", produtosPorPreco.forma());
+    	}
+    }
+    
+    /** Mostra o diagnóstico da forma de uma árvore, com um alerta se ela for alta demais para a quantidade de nós. */
+    static void mostrarForma(String nome, FormaArvore forma) {
+    	
+    	System.out.println(nome + ", forma:");
+    	System.out.println(forma);
+    	if (forma.getRazaoAltura() > RAZAO_ALTURA_ALERTA)
+    		System.out.println(String.format("ATENÇÃO: altura %.1f vezes a mínima; as pesquisas estão mais lentas do que deveriam.",
+    				forma.getRazaoAltura()));
+    	System.out.println();
+    }
+    
+    /** Mostra o número de comparações e o tempo da última operação realizada na estrutura de busca. */
+    static void mostrarMedicao(IMedicao medicao) {
+    	System.out.println("Número de comparações realizadas: " + medicao.getComparacoes());
+    	System.out.println("Tempo de processamento da pesquisa: " + medicao.getTempo() + " ms");
+    }
+    
+    /** Localiza um produto na árvore de produtos organizados por id, a partir do código de produto informado pelo usuário, e o retorna. 
+     *  Em caso de não encontrar o produto, retorna null */
+    static Produto localizarProdutoID(MapeamentoInteiro<Produto> produtosCadastrados) {
+    
+        cabecalho();
+        System.out.println("LOCALIZAR PRODUTO POR ID");
+        System.out.println("========================");
+        
+        // Solicita o ID do produto ao usuário
+        Integer id = lerOpcao("Digite o ID do produto: ", Integer.class);
+        
+        if (id == null) {
+            System.out.println("ID inválido!");
+            return null;
+        }
+        
+        // Usa o método genérico para localizar o produto
+        Produto produto = localizarProduto(produtosCadastrados, id.intValue());
+        
+        if (produto == null) {
+            System.out.println("Produto com ID " + id + " não encontrado!");
+        }
+        
+        return produto;
+    }
+    
+    /** Localiza um produto na árvore de produtos organizados por nome, a partir do nome de produto informado pelo usuário, e o retorna. 
+     *  A busca não é sensível ao caso. Em caso de não encontrar o produto, retorna null */
+    static Produto localizarProdutoNome(IMapeamento<String, Produto> produtosCadastrados) {
+    
+        cabecalho();
+        System.out.println("LOCALIZAR PRODUTO POR NOME");
+        System.out.println("==========================");
+        
+        // Solicita o nome do produto ao usuário
+        System.out.print("Digite o nome do produto: ");
+        String nome = teclado.nextLine().trim();
+        
+        if (nome.isEmpty()) {
+            System.out.println("Nome não pode estar vazio!");
+            return null;
+        }
+        
+        // Usa o método genérico para localizar o produto
+        Produto produto = localizarProduto(produtosCadastrados, nome);
+        
+        if (produto == null) {
+            System.out.println("Produto '" + nome + "' não encontrado!");
+        }
+        
+        return produto;
+    }
+    
+    /** Lista, em ordem de nome, os produtos cujo nome começa com o texto informado pelo usuário.
+     *  Usa a consulta por prefixo da árvore, que visita apenas as sub-árvores com nomes que podem ter o prefixo. */
+    static void listarProdutosPorPrefixo(ABB<String, Produto> produtosCadastrados) {
+    
+        cabecalho();
+        System.out.println("LISTAR PRODUTOS PELO INÍCIO DO NOME");
+        System.out.println("===================================");
+        
+        System.out.print("Digite o início do nome: ");
+        String prefixo = teclado.nextLine().trim();
+        
+        List<Produto> produtos = ABB.comPrefixo(produtosCadastrados, prefixo);
+        
+        try {
+            escreverProdutos(produtos);
+            saida.flush();
+        } catch (IOException excecaoEscrita) {
+            System.out.println("Erro na escrita da listagem!");
+        }
+        System.out.println(produtos.size() + " produto(s) encontrado(s).");
+        mostrarMedicao(produtosCadastrados);
+    }
+    
+    private static void mostrarProduto(Produto produto) {
+    	
+        cabecalho();
+        String mensagem = "Dados inválidos para o produto!";
+        
+        if (produto != null){
+            mensagem = String.format("Dados do produto:\n%s", produto);
+        }
+        
+        System.out.println(mensagem);
+    }
+    
+    /** Lista todos os produtos cadastrados, um por linha. Os produtos são mostrados à medida que a árvore é percorrida,
+     *  sem montar antes o texto da listagem completa */
+    static <K> void listarTodosOsProdutos(ABB<K, Produto> produtosCadastrados) {
+    	
+        cabecalho();
+        System.out.println("\nPRODUTOS CADASTRADOS:");
+        try {
+        	escreverProdutos(() -> produtosCadastrados.stream().map(Map.Entry::getValue).iterator());
+        	saida.flush();
+        } catch (IOException excecaoEscrita) {
+        	System.out.println("Erro na escrita da listagem!");
+        }
+    }
+    
+    /** Lista os produtos cadastrados em ordem de nome, uma página por vez. Cada página é obtida diretamente da árvore,
+     *  a partir da sua posição inicial, de forma que avançar ou saltar para qualquer página custa o mesmo. */
+    static <K> void listarProdutosPorPagina(ABB<K, Produto> produtosCadastrados) {
+    	
+    	int totalPaginas = Math.max(1, (produtosCadastrados.tamanho() + PRODUTOS_POR_PAGINA - 1) / PRODUTOS_POR_PAGINA);
+    	int pagina = 1;
+    	
+    	try {
+    		while (pagina >= 1 && pagina <= totalPaginas) {
+    			cabecalho();
+    			escreverProdutos(produtosCadastrados.pagina((pagina - 1) * PRODUTOS_POR_PAGINA, PRODUTOS_POR_PAGINA));
+    			saida.write("Página " + pagina + " de " + totalPaginas);
+    			saida.newLine();
+    			saida.flush();
+    			
+    			System.out.print("Enter para a próxima página, o número de uma página para ir até ela, ou 0 para sair: ");
+    			String resposta = teclado.nextLine().trim();
+    			try {
+    				pagina = resposta.isEmpty() ? pagina + 1 : Integer.parseInt(resposta);
+    			} catch (NumberFormatException excecao) {
+    				pagina++;
+    			}
+    		}
+    	} catch (IOException excecaoEscrita) {
+    		System.out.println("Erro na escrita da listagem!");
+    	}
+    }
+    
+    /** Lista, em ordem crescente de preço, os produtos com valor de venda na faixa informada pelo usuário.
+     *  Antes da consulta, o índice é atualizado com os descontos dos perecíveis que começaram desde a última atualização. */
+    static void listarProdutosPorPreco(IndicePorPreco indice) {
+    	
+        cabecalho();
+        System.out.println("LISTAR PRODUTOS POR FAIXA DE PREÇO");
+        System.out.println("==================================");
+        
+        Double minimo = lerOpcao("Digite o preço mínimo: ", Double.class);
+        Double maximo = lerOpcao("Digite o preço máximo: ", Double.class);
+        
+        if (minimo == null || maximo == null) {
+            System.out.println("Preço inválido!");
+            return;
+        }
+        
+        indice.atualizar();
+        List<Produto> produtos = indice.entre(minimo, maximo);
+        try {
+            escreverProdutos(produtos);
+            saida.flush();
+        } catch (IOException excecaoEscrita) {
+            System.out.println("Erro na escrita da listagem!");
+        }
+        System.out.println(produtos.size() + " produto(s) encontrado(s).");
+        mostrarMedicao(indice);
+    }
+    
+    /** Escreve os produtos na saída bufferizada, um por linha. Todos os produtos são descritos num mesmo buffer, 
+     *  reaproveitado de uma linha para a outra, e copiados para a saída sem a criação de strings intermediárias. */
+    static void escreverProdutos(Iterable<? extends Produto> produtos) throws IOException {
+    	
+    	linhaListagem.setLength(0);
+    	for (Produto produto : produtos) {
+    		produto.descrever(linhaListagem);
+    		linhaListagem.append(System.lineSeparator());
+    		if (linhaListagem.length() > bufferListagem.length)
+    			bufferListagem = new char[2 * linhaListagem.length()];
+    		linhaListagem.getChars(0, linhaListagem.length(), bufferListagem, 0);
+    		saida.write(bufferListagem, 0, linhaListagem.length());
+    		linhaListagem.setLength(0);
+    	}
+    }
+    
+	public static void main(String[] args) {
+		teclado = new Scanner(System.in, Charset.forName("UTF-8"));
+        nomeArquivoDados = "produtos.txt";
+        nomeArquivoInstantaneo = "produtos.bin";
+        saida = new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset()), 1 << 16);
+        
+        int opcao = -1;
+      
+        do{
+            /// Varredura diária: na primeira operação de cada dia, os produtos vencidos saem do cadastro.
+            if (produtosPorValidade != null && ProdutoPerecivel.diaDeHoje() > diaDaUltimaVarredura)
+                retirarProdutosVencidos();
+            opcao = menu();
+            switch (opcao) {
+                case 1 -> listarTodosOsProdutos(produtosCadastradosPorNome);
+                case 2, 3 -> carregarProdutos(nomeArquivoDados);
+                case 4 -> mostrarProduto(localizarProdutoNome(tabelaProdutosPorNome));
+                case 5 -> mostrarProduto(localizarProdutoID(produtosCadastradosPorId));
+                case 6 -> listarProdutosPorPrefixo(produtosCadastradosPorNome);
+                case 7 -> listarProdutosPorPagina(produtosCadastradosPorNome);
+                case 8 -> listarProdutosPorPreco(produtosPorPreco);
+                case 9 -> listarProdutosAVencer();
+                case 10 -> mostrarMetricas();
+            }
+            pausa();
+        }while(opcao != 0);       
+
+        teclado.close();    
+    }
+}
+
+
+
+
+
@@ -0,0 +1,571 @@
+package comercio;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Árvore B+ de ordem configurável.
+ *
+ * Cada página guarda suas chaves num vetor contíguo, de forma que uma pesquisa visita apenas uma página por nível
+ * (e a altura é log na base da ordem, e não na base 2, como na {@link ABB}). Os itens ficam somente nas folhas,
+ * que são encadeadas da esquerda para a direita: o caminhamento em ordem e as consultas por intervalo
+ * percorrem a lista de folhas, sem voltar aos nós internos.
+ *
+ * Cada comparação entre chaves, feita nas pesquisas binárias dentro das páginas, é contabilizada.
+ */
+public class ArvoreBMais<K, V> implements IMapeamento<K, V> {
+
+	private static final int ORDEM_PADRAO = 64;
+
+	/**
+	 * Página da árvore. Nas folhas, {@code itens} guarda o item de cada chave e {@code proxima} aponta a folha seguinte;
+	 * nos nós internos, {@code filhos} guarda as sub-árvores, e o filho i contém as chaves menores que chaves[i].
+	 */
+	private static class Pagina {
+		final boolean folha;
+		final Object[] chaves;
+		final Object[] itens;
+		final Pagina[] filhos;
+		int quantidade;
+		Pagina proxima;
+
+		Pagina(boolean folha, int maxChaves) {
+			this.folha = folha;
+			/// Uma posição extra permite que a página transborde momentaneamente, antes de ser dividida.
+			chaves = new Object[maxChaves + 1];
+			itens = folha ? new Object[maxChaves + 1] : null;
+			filhos = folha ? null : new Pagina[maxChaves + 2];
+			quantidade = 0;
+		}
+	}
+
+	private final int maxChaves;   // máximo de chaves por página (ordem - 1).
+	private final int minChaves;   // mínimo de chaves por página, exceto na raiz.
+	private Pagina raiz;
+	private Comparator<K> comparador;
+	private int tamanho;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private volatile Metricas metricas; // métricas acumuladas das operações, ou null se desativadas.
+
+	private K chavePromovida; // chave que sobe para o pai após a divisão de uma página.
+	private V itemRemovido;   // item retirado na última remoção.
+
+	/**
+	 * Construtor da classe.
+	 * Usa a ordem padrão e o comparador de ordem natural.
+	 */
+	@SuppressWarnings("unchecked")
+	public ArvoreBMais() {
+		this(ORDEM_PADRAO, (Comparator<K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * @param ordem quantidade máxima de filhos de cada página (mínimo 3).
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 * @throws IllegalArgumentException se a ordem for menor que 3.
+	 */
+	public ArvoreBMais(int ordem, Comparator<K> comparador) {
+
+		if (ordem < 3)
+			throw new IllegalArgumentException("A ordem da árvore B+ deve ser pelo menos 3.");
+
+		maxChaves = ordem - 1;
+		minChaves = maxChaves / 2;
+		this.comparador = comparador;
+		raiz = new Pagina(true, maxChaves);
+		tamanho = 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private int comparar(K chave, Object outra) {
+		comparacoes++;
+		return comparador.compare(chave, (K) outra);
+	}
+
+	/**
+	 * Pesquisa binária numa folha.
+	 * @return a posição da chave, se existir; caso contrário, (-(ponto de inserção) - 1).
+	 */
+	private int localizarNaFolha(Pagina folha, K chave) {
+
+		int esquerda = 0;
+		int direita = folha.quantidade - 1;
+
+		while (esquerda <= direita) {
+			int meio = (esquerda + direita) >>> 1;
+			int comparacao = comparar(chave, folha.chaves[meio]);
+			if (comparacao > 0)
+				esquerda = meio + 1;
+			else if (comparacao < 0)
+				direita = meio - 1;
+			else
+				return meio;
+		}
+		return -(esquerda + 1);
+	}
+
+	/**
+	 * Pesquisa binária num nó interno.
+	 * @return o índice do filho cuja sub-árvore pode conter a chave: a quantidade de chaves menores ou iguais a ela.
+	 */
+	private int localizarFilho(Pagina no, K chave) {
+
+		int esquerda = 0;
+		int direita = no.quantidade - 1;
+
+		while (esquerda <= direita) {
+			int meio = (esquerda + direita) >>> 1;
+			if (comparar(chave, no.chaves[meio]) >= 0)
+				esquerda = meio + 1;
+			else
+				direita = meio - 1;
+		}
+		return esquerda;
+	}
+
+	/** Desce da raiz até a folha que contém (ou conteria) a chave. */
+	private Pagina localizarFolha(K chave) {
+
+		Pagina atual = raiz;
+
+		while (!atual.folha)
+			atual = atual.filhos[localizarFilho(atual, chave)];
+		return atual;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V pesquisar(K chave) {
+
+		Pagina folha;
+		int posicao;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		folha = localizarFolha(chave);
+		posicao = localizarNaFolha(folha, chave);
+		termino = System.nanoTime();
+		registrar(Operacao.PESQUISAR);
+
+		if (posicao < 0)
+			throw new NoSuchElementException("O item não foi localizado na árvore!");
+		return (V) folha.itens[posicao];
+	}
+
+	@Override
+	public int inserir(K chave, V item) {
+
+		Pagina novaPagina;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+
+		novaPagina = inserir(raiz, chave, item);
+		if (novaPagina != null) {
+			/// A raiz foi dividida: a árvore cresce um nível.
+			Pagina novaRaiz = new Pagina(false, maxChaves);
+			novaRaiz.chaves[0] = chavePromovida;
+			novaRaiz.filhos[0] = raiz;
+			novaRaiz.filhos[1] = novaPagina;
+			novaRaiz.quantidade = 1;
+			raiz = novaRaiz;
+		}
+		chavePromovida = null;
+		termino = System.nanoTime();
+		registrar(Operacao.INSERIR);
+
+		return tamanho;
+	}
+
+	/**
+	 * Insere recursivamente na sub-árvore.
+	 * @return a nova página à direita, caso a página tenha sido dividida (a chave separadora fica em {@code chavePromovida}),
+	 * ou null, caso contrário.
+	 */
+	private Pagina inserir(Pagina pagina, K chave, V item) {
+
+		if (pagina.folha) {
+			int posicao = localizarNaFolha(pagina, chave);
+			if (posicao >= 0) {
+				/// Chave já existente: apenas atualiza o item.
+				pagina.itens[posicao] = item;
+				return null;
+			}
+			posicao = -(posicao + 1);
+			inserirNaPosicao(pagina.chaves, pagina.quantidade, posicao, chave);
+			inserirNaPosicao(pagina.itens, pagina.quantidade, posicao, item);
+			pagina.quantidade++;
+			tamanho++;
+			return (pagina.quantidade > maxChaves) ? dividirFolha(pagina) : null;
+		}
+
+		int indice = localizarFilho(pagina, chave);
+		Pagina novaPagina = inserir(pagina.filhos[indice], chave, item);
+		if (novaPagina == null)
+			return null;
+
+		inserirNaPosicao(pagina.chaves, pagina.quantidade, indice, chavePromovida);
+		inserirNaPosicao(pagina.filhos, pagina.quantidade + 1, indice + 1, novaPagina);
+		pagina.quantidade++;
+		return (pagina.quantidade > maxChaves) ? dividirInterna(pagina) : null;
+	}
+
+	/** Divide uma folha cheia ao meio. A primeira chave da nova folha é copiada para o pai. */
+	@SuppressWarnings("unchecked")
+	private Pagina dividirFolha(Pagina folha) {
+
+		Pagina nova = new Pagina(true, maxChaves);
+		int ficam = folha.quantidade / 2;
+		int saem = folha.quantidade - ficam;
+
+		System.arraycopy(folha.chaves, ficam, nova.chaves, 0, saem);
+		System.arraycopy(folha.itens, ficam, nova.itens, 0, saem);
+		limpar(folha.chaves, ficam, folha.quantidade);
+		limpar(folha.itens, ficam, folha.quantidade);
+		nova.quantidade = saem;
+		folha.quantidade = ficam;
+
+		nova.proxima = folha.proxima;
+		folha.proxima = nova;
+
+		chavePromovida = (K) nova.chaves[0];
+		return nova;
+	}
+
+	/** Divide um nó interno cheio. A chave central sobe para o pai e não permanece em nenhuma das metades. */
+	@SuppressWarnings("unchecked")
+	private Pagina dividirInterna(Pagina no) {
+
+		Pagina nova = new Pagina(false, maxChaves);
+		int meio = no.quantidade / 2;
+		int saem = no.quantidade - meio - 1;
+
+		chavePromovida = (K) no.chaves[meio];
+		System.arraycopy(no.chaves, meio + 1, nova.chaves, 0, saem);
+		System.arraycopy(no.filhos, meio + 1, nova.filhos, 0, saem + 1);
+		limpar(no.chaves, meio, no.quantidade);
+		limpar(no.filhos, meio + 1, no.quantidade + 1);
+		nova.quantidade = saem;
+		no.quantidade = meio;
+
+		return nova;
+	}
+
+	@Override
+	public V remover(K chave) {
+
+		V removido;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		try {
+			remover(raiz, chave);
+			if (!raiz.folha && raiz.quantidade == 0)
+				/// A raiz ficou com um único filho: a árvore perde um nível.
+				raiz = raiz.filhos[0];
+			tamanho--;
+			removido = itemRemovido;
+		} finally {
+			itemRemovido = null;
+			termino = System.nanoTime();
+			registrar(Operacao.REMOVER);
+		}
+		return removido;
+	}
+
+	/**
+	 * Remove recursivamente da sub-árvore. Na volta, corrige as páginas que ficaram com menos chaves que o mínimo,
+	 * emprestando de uma página irmã ou fundindo-se a ela.
+	 */
+	@SuppressWarnings("unchecked")
+	private void remover(Pagina pagina, K chave) {
+
+		if (pagina.folha) {
+			int posicao = localizarNaFolha(pagina, chave);
+			if (posicao < 0)
+				throw new NoSuchElementException("O item não foi localizado na árvore!");
+			itemRemovido = (V) pagina.itens[posicao];
+			removerDaPosicao(pagina.chaves, pagina.quantidade, posicao);
+			removerDaPosicao(pagina.itens, pagina.quantidade, posicao);
+			pagina.quantidade--;
+			return;
+		}
+
+		int indice = localizarFilho(pagina, chave);
+		Pagina filho = pagina.filhos[indice];
+		remover(filho, chave);
+
+		if (filho.quantidade >= minChaves)
+			return;
+
+		Pagina esquerda = (indice > 0) ? pagina.filhos[indice - 1] : null;
+		Pagina direita = (indice < pagina.quantidade) ? pagina.filhos[indice + 1] : null;
+
+		if (esquerda != null && esquerda.quantidade > minChaves)
+			emprestarDaEsquerda(pagina, indice, esquerda, filho);
+		else if (direita != null && direita.quantidade > minChaves)
+			emprestarDaDireita(pagina, indice, filho, direita);
+		else if (esquerda != null)
+			fundir(pagina, indice - 1, esquerda, filho);
+		else
+			fundir(pagina, indice, filho, direita);
+	}
+
+	private void emprestarDaEsquerda(Pagina pai, int indice, Pagina esquerda, Pagina filho) {
+
+		if (filho.folha) {
+			inserirNaPosicao(filho.chaves, filho.quantidade, 0, esquerda.chaves[esquerda.quantidade - 1]);
+			inserirNaPosicao(filho.itens, filho.quantidade, 0, esquerda.itens[esquerda.quantidade - 1]);
+			esquerda.itens[esquerda.quantidade - 1] = null;
+			pai.chaves[indice - 1] = filho.chaves[0];
+		} else {
+			inserirNaPosicao(filho.chaves, filho.quantidade, 0, pai.chaves[indice - 1]);
+			inserirNaPosicao(filho.filhos, filho.quantidade + 1, 0, esquerda.filhos[esquerda.quantidade]);
+			esquerda.filhos[esquerda.quantidade] = null;
+			pai.chaves[indice - 1] = esquerda.chaves[esquerda.quantidade - 1];
+		}
+		esquerda.chaves[esquerda.quantidade - 1] = null;
+		esquerda.quantidade--;
+		filho.quantidade++;
+	}
+
+	private void emprestarDaDireita(Pagina pai, int indice, Pagina filho, Pagina direita) {
+
+		if (filho.folha) {
+			filho.chaves[filho.quantidade] = direita.chaves[0];
+			filho.itens[filho.quantidade] = direita.itens[0];
+			removerDaPosicao(direita.chaves, direita.quantidade, 0);
+			removerDaPosicao(direita.itens, direita.quantidade, 0);
+			pai.chaves[indice] = direita.chaves[0];
+		} else {
+			filho.chaves[filho.quantidade] = pai.chaves[indice];
+			filho.filhos[filho.quantidade + 1] = direita.filhos[0];
+			pai.chaves[indice] = direita.chaves[0];
+			removerDaPosicao(direita.chaves, direita.quantidade, 0);
+			removerDaPosicao(direita.filhos, direita.quantidade + 1, 0);
+		}
+		direita.quantidade--;
+		filho.quantidade++;
+	}
+
+	/**
+	 * Funde a página direita à esquerda, retirando do pai a chave separadora (filhos[indice] e filhos[indice + 1]).
+	 */
+	private void fundir(Pagina pai, int indice, Pagina esquerda, Pagina direita) {
+
+		if (esquerda.folha) {
+			System.arraycopy(direita.chaves, 0, esquerda.chaves, esquerda.quantidade, direita.quantidade);
+			System.arraycopy(direita.itens, 0, esquerda.itens, esquerda.quantidade, direita.quantidade);
+			esquerda.quantidade += direita.quantidade;
+			esquerda.proxima = direita.proxima;
+		} else {
+			esquerda.chaves[esquerda.quantidade] = pai.chaves[indice];
+			System.arraycopy(direita.chaves, 0, esquerda.chaves, esquerda.quantidade + 1, direita.quantidade);
+			System.arraycopy(direita.filhos, 0, esquerda.filhos, esquerda.quantidade + 1, direita.quantidade + 1);
+			esquerda.quantidade += direita.quantidade + 1;
+		}
+
+		removerDaPosicao(pai.chaves, pai.quantidade, indice);
+		removerDaPosicao(pai.filhos, pai.quantidade + 1, indice + 1);
+		pai.quantidade--;
+	}
+
+	/** Desloca os elementos [posicao, quantidade) uma posição à direita e grava o novo elemento. */
+	private static void inserirNaPosicao(Object[] vetor, int quantidade, int posicao, Object elemento) {
+		System.arraycopy(vetor, posicao, vetor, posicao + 1, quantidade - posicao);
+		vetor[posicao] = elemento;
+	}
+
+	/** Desloca os elementos (posicao, quantidade) uma posição à esquerda, liberando a última posição. */
+	private static void removerDaPosicao(Object[] vetor, int quantidade, int posicao) {
+		System.arraycopy(vetor, posicao + 1, vetor, posicao, quantidade - posicao - 1);
+		vetor[quantidade - 1] = null;
+	}
+
+	private static void limpar(Object[] vetor, int de, int ate) {
+		for (int i = de; i < ate; i++)
+			vetor[i] = null;
+	}
+
+	/**
+	 * Consulta por intervalo: desce uma única vez até a folha de {@code minimo} e, a partir dela, segue a lista de folhas
+	 * até passar de {@code maximo}.
+	 * @param minimo limite inferior (inclusive).
+	 * @param maximo limite superior (inclusive).
+	 * @return os itens com chave no intervalo, em ordem crescente de chave.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<V> intervalo(K minimo, K maximo) {
+
+		List<V> encontrados = new ArrayList<>();
+		Pagina folha;
+		int posicao;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+
+		folha = localizarFolha(minimo);
+		posicao = localizarNaFolha(folha, minimo);
+		if (posicao < 0)
+			posicao = -(posicao + 1);
+
+		percorrerFolhas:
+		while (folha != null) {
+			for (; posicao < folha.quantidade; posicao++) {
+				if (comparar(maximo, folha.chaves[posicao]) < 0)
+					break percorrerFolhas;
+				encontrados.add((V) folha.itens[posicao]);
+			}
+			folha = folha.proxima;
+			posicao = 0;
+		}
+		termino = System.nanoTime();
+		registrar(Operacao.CONSULTAR);
+
+		return encontrados;
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	/**
+	 * Lista os itens em ordem crescente de chave, um por linha, seguindo a lista encadeada de folhas.
+	 */
+	@Override
+	public String percorrer() {
+
+		StringBuilder sb = new StringBuilder();
+		Pagina folha = raiz;
+
+		while (!folha.folha)
+			folha = folha.filhos[0];
+
+		for (; folha != null; folha = folha.proxima)
+			for (int i = 0; i < folha.quantidade; i++)
+				sb.append(folha.itens[i]).append("\n");
+		return sb.toString();
+	}
+
+	/** Quantidade de níveis da árvore: 1 quando a raiz é uma folha. */
+	int altura() {
+
+		int niveis = 1;
+
+		for (Pagina atual = raiz; !atual.folha; atual = atual.filhos[0])
+			niveis++;
+		return niveis;
+	}
+
+	/**
+	 * Confere a estrutura da árvore, para uso nos testes: todas as folhas no mesmo nível, páginas (exceto a raiz) com
+	 * pelo menos o mínimo de chaves, chaves de cada sub-árvore entre as chaves separadoras do pai e a lista de folhas
+	 * encadeada em ordem, com todos os itens.
+	 */
+	@SuppressWarnings("unchecked")
+	boolean estruturaValida() {
+
+		Pagina folha = raiz;
+		int itens = 0;
+
+		if (validar(raiz, null, null, altura()) < 0)
+			return false;
+
+		while (!folha.folha)
+			folha = folha.filhos[0];
+		for (Object anterior = null; folha != null; folha = folha.proxima) {
+			for (int i = 0; i < folha.quantidade; i++, itens++) {
+				if (anterior != null && comparar((K) folha.chaves[i], anterior) <= 0)
+					return false;
+				anterior = folha.chaves[i];
+			}
+		}
+		return itens == tamanho;
+	}
+
+	/**
+	 * Confere a sub-árvore, cujas chaves devem estar em [minimo, maximo) (null: sem limite).
+	 * @return a quantidade de chaves nas folhas da sub-árvore, ou -1 se alguma regra foi violada.
+	 */
+	@SuppressWarnings("unchecked")
+	private int validar(Pagina pagina, Object minimo, Object maximo, int niveisRestantes) {
+
+		int total = 0;
+
+		if (pagina.folha != (niveisRestantes == 1) || pagina.quantidade > maxChaves)
+			return -1;
+		if (pagina != raiz && pagina.quantidade < minChaves)
+			return -1;
+		if (!pagina.folha && pagina.quantidade == 0)
+			return -1;
+
+		for (int i = 0; i < pagina.quantidade; i++) {
+			K chave = (K) pagina.chaves[i];
+			if (i > 0 && comparar(chave, pagina.chaves[i - 1]) <= 0)
+				return -1;
+			if ((minimo != null && comparar(chave, minimo) < 0) || (maximo != null && comparar(chave, maximo) >= 0))
+				return -1;
+		}
+		if (pagina.folha)
+			return pagina.quantidade;
+
+		for (int i = 0; i <= pagina.quantidade; i++) {
+			Object abaixo = (i == 0) ? minimo : pagina.chaves[i - 1];
+			Object acima = (i == pagina.quantidade) ? maximo : pagina.chaves[i];
+			int quantidade = validar(pagina.filhos[i], abaixo, acima, niveisRestantes - 1);
+			if (quantidade < 0)
+				return -1;
+			total += quantidade;
+		}
+		return total;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	/**
+	 * Registra a última operação, com suas comparações e seu tempo, nas métricas acumuladas, se estiverem ativadas.
+	 * @param operacao o tipo da operação encerrada.
+	 */
+	private void registrar(Operacao operacao) {
+
+		Metricas atuais = metricas;
+
+		if (atuais != null)
+			atuais.registrar(operacao, comparacoes, termino - inicio);
+	}
+
+	@Override
+	public synchronized void ativarMetricas() {
+		if (metricas == null)
+			metricas = new Metricas();
+	}
+
+	@Override
+	public void desativarMetricas() {
+		metricas = null;
+	}
+
+	@Override
+	public Metricas getMetricas() {
+		return metricas;
+	}
+}
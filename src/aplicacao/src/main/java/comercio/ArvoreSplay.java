@@ -0,0 +1,320 @@
+package comercio;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+/**
+ * Árvore splay (árvore de difusão): uma árvore binária de busca que, a cada acesso, leva o nó acessado até a raiz,
+ * por rotações. As chaves mais procuradas ficam, assim, perto da raiz, e são encontradas com poucas comparações,
+ * qualquer que seja o tamanho da árvore; com acessos concentrados em poucas chaves, a pesquisa custa
+ * bem menos que log2 n comparações.
+ *
+ * O afunilamento (splay) é descendente (top-down, como proposto por Sleator e Tarjan): numa única descida, os nós
+ * à esquerda e à direita do caminho são pendurados em duas árvores auxiliares, que, ao final, tornam-se as sub-árvores
+ * do nó acessado, sem recursão nem pilha. Os nós são os da {@link ABB} ({@link No}), mas sua altura e sua quantidade
+ * de nós não são mantidas.
+ *
+ * Uma operação isolada pode custar O(n) comparações, mas o custo amortizado é O(log n): além da última operação
+ * ({@link #getComparacoes()}), a árvore informa a média de comparações por operação desde a sua criação
+ * ({@link #getComparacoesAmortizadas()}). A pesquisa também altera a árvore, e uma pesquisa sem sucesso leva à raiz
+ * o último nó visitado.
+ */
+public class ArvoreSplay<K, V> implements IMapeamento<K, V> {
+
+	private final Comparator<K> comparador;
+	private final No<K, V> auxiliar = new No<>(null, null); // cabeça das árvores auxiliares do afunilamento.
+	protected No<K, V> raiz;
+	private int comparacaoRaiz;       // comparação da chave afunilada com a nova raiz, como em Comparator.compare.
+	protected int tamanho;
+	private long comparacoes;
+	private long comparacoesTotais;   // comparações de todas as operações, para o custo amortizado.
+	private long operacoes;           // operações realizadas, para o custo amortizado.
+	private long inicio;
+	private long termino;
+	private volatile Metricas metricas; // métricas acumuladas das operações, ou null se desativadas.
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */
+	@SuppressWarnings("unchecked")
+	public ArvoreSplay() {
+		this((Comparator<K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 */
+	public ArvoreSplay(Comparator<K> comparador) {
+		this.comparador = comparador;
+		raiz = null;
+		tamanho = 0;
+	}
+
+	/**
+	 * Afunilamento descendente: leva à raiz da sub-árvore o nó com a chave procurada ou, se ela não existir,
+	 * o último nó visitado (o antecessor ou o sucessor da chave). Quando dois passos seguidos vão para o mesmo lado
+	 * (zig-zig), o avô é rotacionado antes, o que garante o custo amortizado logarítmico. Cada nó do caminho é comparado
+	 * uma única vez: a comparação com o filho, feita para decidir a rotação, é reaproveitada no passo seguinte.
+	 * O resultado da comparação da chave com a nova raiz fica em {@code comparacaoRaiz}.
+	 * @param chave a chave procurada.
+	 * @param no a raiz da sub-árvore, não nula.
+	 * @return a nova raiz da sub-árvore.
+	 */
+	private No<K, V> afunilar(K chave, No<K, V> no) {
+
+		No<K, V> esquerda = auxiliar;    // maior nó da árvore auxiliar com as chaves menores.
+		No<K, V> direita = auxiliar;     // menor nó da árvore auxiliar com as chaves maiores.
+		int comparacao, comparacaoFilho;
+
+		auxiliar.setEsquerda(null);
+		auxiliar.setDireita(null);
+
+		comparacoes++;
+		comparacao = comparador.compare(chave, no.getChave());
+		while (comparacao != 0) {
+			if (comparacao < 0) {
+				if (no.getEsquerda() == null)
+					break;
+				comparacoes++;
+				comparacaoFilho = comparador.compare(chave, no.getEsquerda().getChave());
+				if (comparacaoFilho < 0) {
+					/// Zig-zig: rotação à direita; o filho, ainda maior que a chave, passa a ser o nó atual.
+					No<K, V> filho = no.getEsquerda();
+					no.setEsquerda(filho.getDireita());
+					filho.setDireita(no);
+					no = filho;
+					if (no.getEsquerda() == null) {
+						comparacao = comparacaoFilho;
+						break;
+					}
+					/// O nó, com sua sub-árvore direita, passa para a árvore auxiliar das chaves maiores.
+					direita.setEsquerda(no);
+					direita = no;
+					no = no.getEsquerda();
+					comparacoes++;
+					comparacao = comparador.compare(chave, no.getChave());
+				} else {
+					direita.setEsquerda(no);
+					direita = no;
+					no = no.getEsquerda();
+					comparacao = comparacaoFilho;
+				}
+			} else {
+				if (no.getDireita() == null)
+					break;
+				comparacoes++;
+				comparacaoFilho = comparador.compare(chave, no.getDireita().getChave());
+				if (comparacaoFilho > 0) {
+					/// Zag-zag: rotação à esquerda; o filho, ainda menor que a chave, passa a ser o nó atual.
+					No<K, V> filho = no.getDireita();
+					no.setDireita(filho.getEsquerda());
+					filho.setEsquerda(no);
+					no = filho;
+					if (no.getDireita() == null) {
+						comparacao = comparacaoFilho;
+						break;
+					}
+					/// O nó, com sua sub-árvore esquerda, passa para a árvore auxiliar das chaves menores.
+					esquerda.setDireita(no);
+					esquerda = no;
+					no = no.getDireita();
+					comparacoes++;
+					comparacao = comparador.compare(chave, no.getChave());
+				} else {
+					esquerda.setDireita(no);
+					esquerda = no;
+					no = no.getDireita();
+					comparacao = comparacaoFilho;
+				}
+			}
+		}
+
+		/// Montagem: as árvores auxiliares tornam-se as sub-árvores do nó encontrado.
+		esquerda.setDireita(no.getEsquerda());
+		direita.setEsquerda(no.getDireita());
+		no.setEsquerda(auxiliar.getDireita());
+		no.setDireita(auxiliar.getEsquerda());
+		comparacaoRaiz = comparacao;
+		return no;
+	}
+
+	@Override
+	public V pesquisar(K chave) {
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		try {
+			if (raiz == null)
+				throw new NoSuchElementException("O item não foi localizado na árvore!");
+			raiz = afunilar(chave, raiz);
+			if (comparacaoRaiz != 0)
+				throw new NoSuchElementException("O item não foi localizado na árvore!");
+			return raiz.getItem();
+		} finally {
+			termino = System.nanoTime();
+			registrar(Operacao.PESQUISAR);
+		}
+	}
+
+	/**
+	 * Adiciona um item à árvore, associando-o à chave fornecida. A chave é afunilada e, se não existir,
+	 * o novo nó passa a ser a raiz, com a antiga raiz de um lado e uma de suas sub-árvores do outro.
+	 * Caso a chave já exista, o item associado a ela é substituído.
+	 * @return o tamanho atualizado da árvore após a inserção.
+	 */
+	@Override
+	public int inserir(K chave, V item) {
+
+		No<K, V> novo;
+		int comparacao;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		if (raiz == null) {
+			raiz = new No<>(chave, item);
+			tamanho++;
+		} else {
+			raiz = afunilar(chave, raiz);
+			comparacao = comparacaoRaiz;
+			if (comparacao == 0) {
+				raiz.setItem(item);
+			} else {
+				novo = new No<>(chave, item);
+				if (comparacao < 0) {
+					novo.setEsquerda(raiz.getEsquerda());
+					novo.setDireita(raiz);
+					raiz.setEsquerda(null);
+				} else {
+					novo.setDireita(raiz.getDireita());
+					novo.setEsquerda(raiz);
+					raiz.setDireita(null);
+				}
+				raiz = novo;
+				tamanho++;
+			}
+		}
+		termino = System.nanoTime();
+		registrar(Operacao.INSERIR);
+
+		return tamanho;
+	}
+
+	/**
+	 * Remove um item da árvore. A chave é afunilada até a raiz; a maior chave da sub-árvore esquerda é então afunilada,
+	 * ficando sem filho à direita, e recebe a sub-árvore direita da raiz removida.
+	 * @return o valor associado ao item removido.
+	 */
+	@Override
+	public V remover(K chave) {
+
+		V removido;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		try {
+			if (raiz == null)
+				throw new NoSuchElementException("O item não foi localizado na árvore!");
+			raiz = afunilar(chave, raiz);
+			if (comparacaoRaiz != 0)
+				throw new NoSuchElementException("O item não foi localizado na árvore!");
+
+			removido = raiz.getItem();
+			if (raiz.getEsquerda() == null) {
+				raiz = raiz.getDireita();
+			} else {
+				No<K, V> direita = raiz.getDireita();
+				/// A chave removida é maior que todas as da sub-árvore esquerda: o afunilamento leva a maior delas à raiz.
+				raiz = afunilar(chave, raiz.getEsquerda());
+				raiz.setDireita(direita);
+			}
+			tamanho--;
+		} finally {
+			termino = System.nanoTime();
+			registrar(Operacao.REMOVER);
+		}
+		return removido;
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	/**
+	 * Lista os itens em ordem crescente de chave, um por linha. O caminhamento não altera a árvore e usa uma pilha explícita,
+	 * pois a altura da árvore splay pode chegar a n.
+	 */
+	@Override
+	public String percorrer() {
+
+		StringBuilder sb = new StringBuilder();
+		Deque<No<K, V>> pilha = new ArrayDeque<>();
+		No<K, V> atual = raiz;
+
+		while (atual != null || !pilha.isEmpty()) {
+			while (atual != null) {
+				pilha.push(atual);
+				atual = atual.getEsquerda();
+			}
+			atual = pilha.pop();
+			sb.append(atual.getItem()).append("\n");
+			atual = atual.getDireita();
+		}
+		return sb.toString();
+	}
+
+	/** Comparações realizadas na última operação, incluindo as do afunilamento. */
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	/**
+	 * Custo amortizado: média de comparações por operação (pesquisa, inserção ou remoção) desde a criação da árvore.
+	 * @return a média de comparações, ou 0 se nenhuma operação foi realizada.
+	 */
+	public double getComparacoesAmortizadas() {
+		return (operacoes == 0) ? 0 : (double) comparacoesTotais / operacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	/** Acumula a última operação no custo amortizado e, se estiverem ativadas, nas métricas. */
+	private void registrar(Operacao operacao) {
+
+		Metricas atuais = metricas;
+
+		comparacoesTotais += comparacoes;
+		operacoes++;
+		if (atuais != null)
+			atuais.registrar(operacao, comparacoes, termino - inicio);
+	}
+
+	@Override
+	public synchronized void ativarMetricas() {
+		if (metricas == null)
+			metricas = new Metricas();
+	}
+
+	@Override
+	public void desativarMetricas() {
+		metricas = null;
+	}
+
+	@Override
+	public Metricas getMetricas() {
+		return metricas;
+	}
+}
@@ -0,0 +1,105 @@
+package comercio;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Diagnóstico da forma de uma árvore binária de busca ({@link ABB#forma()}): altura, distribuição das profundidades
+ * dos nós, fatores de balanceamento e o custo esperado das pesquisas.
+ *
+ * A profundidade da raiz é 0. Os custos esperados seguem a contagem de comparações de {@link ABB#pesquisar(Object)},
+ * em que cada nó visitado e o ponteiro nulo que encerra uma pesquisa sem sucesso contam uma comparação: uma pesquisa
+ * com sucesso por um nó de profundidade d custa d + 1, e uma sem sucesso, que termina numa posição vazia de profundidade d,
+ * também custa d + 1. Supõe-se que todas as chaves, e todos os intervalos entre elas, sejam procurados com igual frequência.
+ */
+public class FormaArvore {
+
+	private final int quantidade;
+	private final int altura;
+	private final long somaProfundidades;
+	private final int[] nosPorNivel;
+	private final SortedMap<Integer, Integer> fatoresBalanceamento;
+
+	FormaArvore(int quantidade, long somaProfundidades, int[] nosPorNivel, SortedMap<Integer, Integer> fatoresBalanceamento) {
+		this.quantidade = quantidade;
+		this.altura = nosPorNivel.length - 1;
+		this.somaProfundidades = somaProfundidades;
+		this.nosPorNivel = nosPorNivel;
+		this.fatoresBalanceamento = Collections.unmodifiableSortedMap(new TreeMap<>(fatoresBalanceamento));
+	}
+
+	public int getQuantidade() {
+		return quantidade;
+	}
+
+	/** Altura da árvore, que é também a maior profundidade de um nó; -1 para a árvore vazia. */
+	public int getAltura() {
+		return altura;
+	}
+
+	/** Menor altura possível para a quantidade de nós: piso(log2 n), ou -1 para a árvore vazia. */
+	public int getAlturaMinima() {
+		return (quantidade == 0) ? -1 : 31 - Integer.numberOfLeadingZeros(quantidade);
+	}
+
+	/**
+	 * Quantas vezes a árvore é mais alta do que a menor altura possível, contando os níveis: (altura + 1) / (altura mínima + 1).
+	 * Vale 1 numa árvore perfeitamente balanceada, no máximo cerca de 1,44 numa AVL, e chega a n / (log2 n + 1) numa árvore
+	 * degenerada numa lista.
+	 */
+	public double getRazaoAltura() {
+		return (quantidade == 0) ? 1 : (double) (altura + 1) / (getAlturaMinima() + 1);
+	}
+
+	/** Soma das profundidades de todos os nós (comprimento do caminho interno). */
+	public long getSomaProfundidades() {
+		return somaProfundidades;
+	}
+
+	/** Profundidade média dos nós, ou 0 para a árvore vazia. */
+	public double getProfundidadeMedia() {
+		return (quantidade == 0) ? 0 : (double) somaProfundidades / quantidade;
+	}
+
+	/**
+	 * Quantidade de nós em cada profundidade.
+	 * @param profundidade a profundidade, de 0 até a altura.
+	 */
+	public int getNosNaProfundidade(int profundidade) {
+		return nosPorNivel[profundidade];
+	}
+
+	/** Comparações esperadas numa pesquisa com sucesso: profundidade média + 1. */
+	public double getComparacoesEsperadasSucesso() {
+		return (quantidade == 0) ? 0 : getProfundidadeMedia() + 1;
+	}
+
+	/**
+	 * Comparações esperadas numa pesquisa sem sucesso. As n + 1 posições vazias de uma árvore com n nós têm,
+	 * somadas, profundidade igual à soma das profundidades dos nós mais 2n.
+	 */
+	public double getComparacoesEsperadasInsucesso() {
+		return (double) (somaProfundidades + 2L * quantidade) / (quantidade + 1) + 1;
+	}
+
+	/** Histograma dos fatores de balanceamento (altura da sub-árvore esquerda menos a da direita): fator -> quantidade de nós. */
+	public SortedMap<Integer, Integer> getFatoresBalanceamento() {
+		return fatoresBalanceamento;
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder sb = new StringBuilder();
+
+		sb.append("Nós: ").append(quantidade)
+				.append("\nAltura: ").append(altura).append(" (mínima: ").append(getAlturaMinima())
+				.append(String.format(", razão: %.2f)", getRazaoAltura()))
+				.append(String.format("%nProfundidade média: %.2f", getProfundidadeMedia()))
+				.append(String.format("%nComparações esperadas: %.2f (com sucesso), %.2f (sem sucesso)",
+						getComparacoesEsperadasSucesso(), getComparacoesEsperadasInsucesso()))
+				.append("\nFatores de balanceamento: ").append(fatoresBalanceamento);
+		return sb.toString();
+	}
+}
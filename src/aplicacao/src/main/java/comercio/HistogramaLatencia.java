@@ -0,0 +1,113 @@
+package comercio;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências, em nanossegundos, com faixas log-lineares (como no HdrHistogram).
+ *
+ * Valores menores que {@code 2 * SUBFAIXAS} têm uma faixa cada, exata. Acima disso, cada potência de 2 é dividida em
+ * {@code SUBFAIXAS} faixas iguais, de modo que o erro relativo de qualquer valor fica abaixo de 1 / {@code SUBFAIXAS}
+ * (cerca de 6%), com memória fixa e registro em tempo constante, sem alocação. O registro pode ser feito por várias
+ * threads ao mesmo tempo.
+ */
+public class HistogramaLatencia {
+
+	private static final int BITS_SUBFAIXA = 4;
+	private static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+	/** Faixas suficientes para qualquer valor positivo de long: o maior deslocamento é 62 - BITS_SUBFAIXA. */
+	private static final int FAIXAS = (64 - BITS_SUBFAIXA) * SUBFAIXAS;
+
+	private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+	private final LongAdder quantidade = new LongAdder();
+	private final LongAdder total = new LongAdder();
+
+	/**
+	 * Registra uma latência.
+	 * @param nanos a latência, em nanossegundos. Valores negativos são contados como 0.
+	 */
+	public void registrar(long nanos) {
+
+		long valor = Math.max(0, nanos);
+
+		contagens.incrementAndGet(faixa(valor));
+		quantidade.increment();
+		total.add(valor);
+	}
+
+	/** Faixa do valor: exata abaixo de 2 * SUBFAIXAS; acima, o expoente e os bits mais significativos da mantissa. */
+	private static int faixa(long valor) {
+
+		if (valor < 2 * SUBFAIXAS)
+			return (int) valor;
+		int deslocamento = (63 - Long.numberOfLeadingZeros(valor)) - BITS_SUBFAIXA;
+		return deslocamento * SUBFAIXAS + (int) (valor >>> deslocamento);
+	}
+
+	/** Maior valor que cai na faixa informada. */
+	private static long limiteSuperior(int faixa) {
+
+		if (faixa < 2 * SUBFAIXAS)
+			return faixa;
+		int deslocamento = faixa / SUBFAIXAS - 1;
+		long mantissa = faixa % SUBFAIXAS + SUBFAIXAS;
+		return ((mantissa + 1) << deslocamento) - 1;
+	}
+
+	public long getQuantidade() {
+		return quantidade.sum();
+	}
+
+	/** Soma de todas as latências registradas, em nanossegundos. */
+	public long getTotal() {
+		return total.sum();
+	}
+
+	/** Latência média, em nanossegundos, ou 0 se nada foi registrado. */
+	public double getMedia() {
+
+		long registros = getQuantidade();
+
+		return (registros == 0) ? 0 : (double) getTotal() / registros;
+	}
+
+	/**
+	 * Retorna o percentil informado, pelo método do posto mais próximo. O valor é o limite superior da faixa em que
+	 * o percentil cai, ou seja, nunca menor que a latência real.
+	 * @param fracao o percentil, entre 0 e 1 (por exemplo, 0.99 para o p99).
+	 * @return a latência, em nanossegundos, ou 0 se nada foi registrado.
+	 */
+	public long percentil(double fracao) {
+
+		long registros = getQuantidade();
+		long posto, acumulado = 0;
+
+		if (registros == 0)
+			return 0;
+		posto = Math.max(1, (long) Math.ceil(fracao * registros));
+		for (int f = 0; f < FAIXAS; f++) {
+			acumulado += contagens.get(f);
+			if (acumulado >= posto)
+				return limiteSuperior(f);
+		}
+		return maximo();
+	}
+
+	/** Limite superior da faixa da maior latência registrada, ou 0 se nada foi registrado. */
+	public long maximo() {
+
+		for (int f = FAIXAS - 1; f >= 0; f--)
+			if (contagens.get(f) != 0)
+				return limiteSuperior(f);
+		return 0;
+	}
+
+	/** Descarta todos os registros. Registros simultâneos a esta chamada podem ser mantidos em parte. */
+	public void zerar() {
+
+		for (int f = 0; f < FAIXAS; f++)
+			contagens.set(f, 0);
+		quantidade.reset();
+		total.reset();
+	}
+}
@@ -1,3 +1,5 @@
+package comercio;
+
 public interface IMapeamento<K, V> extends IMedicao {
 
     public int inserir(K chave, V item);
@@ -0,0 +1,24 @@
+package comercio;
+
+public interface IMedicao {
+    
+	public long getComparacoes();
+    public double getTempo();
+    
+    /**
+     * Passa a acumular as métricas de todas as operações (ver {@link Metricas}). Sem efeito se já estiverem ativadas.
+     * @throws UnsupportedOperationException se a estrutura não registrar métricas.
+     */
+    public default void ativarMetricas() {
+    	throw new UnsupportedOperationException(getClass().getSimpleName() + " não registra métricas.");
+    }
+    
+    /** Deixa de acumular as métricas, descartando as já acumuladas. */
+    public default void desativarMetricas() {
+    }
+    
+    /** Métricas acumuladas desde a ativação, ou null se não estiverem ativadas. */
+    public default Metricas getMetricas() {
+    	return null;
+    }
+} 
@@ -0,0 +1,79 @@
+package comercio;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Índice dos produtos perecíveis por data de validade, para a varredura diária dos produtos vencidos.
+ *
+ * Os perecíveis ficam numa fila de prioridade (heap), com o de validade mais próxima à frente. A varredura retira da fila
+ * apenas os k produtos já vencidos, com custo O(k log n), sem percorrer o catálogo inteiro; a retirada desses produtos
+ * dos demais índices fica a cargo de quem chama ({@link App}).
+ */
+public class IndiceDeValidade {
+
+	private final PriorityQueue<ProdutoPerecivel> fila =
+			new PriorityQueue<>(Comparator.comparing(ProdutoPerecivel::getDataDeValidade));
+
+	/**
+	 * Construtor da classe. Monta o índice com os produtos perecíveis informados.
+	 * @param produtos todos os produtos do cadastro (inclusive os de mesma descrição, que a árvore por nome não distingue).
+	 */
+	public IndiceDeValidade(Produto[] produtos) {
+		for (Produto produto : produtos)
+			inserir(produto);
+	}
+
+	/**
+	 * Inclui um produto no índice. Produtos não perecíveis são ignorados.
+	 * @param produto o produto a ser incluído.
+	 */
+	public void inserir(Produto produto) {
+		if (produto instanceof ProdutoPerecivel perecivel)
+			fila.add(perecivel);
+	}
+
+	/**
+	 * Retira do índice todos os produtos vencidos até hoje.
+	 * @return os produtos retirados, em ordem de validade.
+	 */
+	public List<ProdutoPerecivel> retirarVencidos() {
+		return retirarVencidos(ProdutoPerecivel.diaDeHoje());
+	}
+
+	/**
+	 * Retira do índice todos os produtos com validade anterior ao dia informado.
+	 * @param dia o dia da varredura, em dias desde 01/01/1970.
+	 * @return os produtos retirados, em ordem de validade.
+	 */
+	List<ProdutoPerecivel> retirarVencidos(long dia) {
+
+		List<ProdutoPerecivel> vencidos = new ArrayList<>();
+
+		while (!fila.isEmpty() && fila.peek().getDataDeValidade().toEpochDay() < dia)
+			vencidos.add(fila.poll());
+		return vencidos;
+	}
+
+	/**
+	 * Retorna, sem retirá-los do índice, os produtos com validade até o dia informado (por exemplo, os que já estão
+	 * ou em breve estarão com desconto). Os k produtos são retirados da fila, em ordem, e recolocados, com custo O(k log n).
+	 * @param dia o último dia de validade, em dias desde 01/01/1970.
+	 * @return os produtos, em ordem de validade.
+	 */
+	public List<ProdutoPerecivel> vencendoAte(long dia) {
+
+		List<ProdutoPerecivel> proximos = new ArrayList<>();
+
+		while (!fila.isEmpty() && fila.peek().getDataDeValidade().toEpochDay() <= dia)
+			proximos.add(fila.poll());
+		fila.addAll(proximos);
+		return proximos;
+	}
+
+	public int tamanho() {
+		return fila.size();
+	}
+}
@@ -0,0 +1,202 @@
+package comercio;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Índice secundário dos produtos por valor de venda, para consultas como "os N produtos mais baratos"
+ * ou "os produtos entre R$ 5 e R$ 10".
+ *
+ * Vários produtos podem ter o mesmo preço, então a chave da árvore é composta: o preço, desempatado pelo identificador.
+ * A árvore é montada com todos os produtos carregados (inclusive os de mesma descrição, que a árvore por nome não distingue),
+ * por ordenação e carga em lote ({@link LeitorProdutos#indexarOrdenado(ABB, Produto[], java.util.function.Function, int)}),
+ * já balanceada.
+ *
+ * O preço de um produto perecível cai quando faltam {@code PRAZO_DESCONTO} dias para a validade, e deixa de existir depois dela.
+ * Em vez de remontar o índice, os perecíveis ainda sem desconto ficam numa fila de prioridade, pelo dia em que o desconto começa,
+ * e os já com desconto, noutra, pela validade: {@link #atualizar()} retira das filas apenas os produtos que cruzaram um desses dias,
+ * trocando suas chaves ou retirando-os do índice, com custo O(k log n).
+ * Todas as chaves do índice correspondem aos preços do dia da última atualização.
+ */
+public class IndicePorPreco implements IMedicao {
+
+	/** Chave composta: valor de venda, desempatado pelo identificador do produto. */
+	static final class ChavePreco implements Comparable<ChavePreco> {
+		final double preco;
+		final int id;
+
+		ChavePreco(double preco, int id) {
+			this.preco = preco;
+			this.id = id;
+		}
+
+		@Override
+		public int compareTo(ChavePreco outra) {
+
+			int comparacao = Double.compare(preco, outra.preco);
+
+			return (comparacao != 0) ? comparacao : Integer.compare(id, outra.id);
+		}
+	}
+
+	private final ABB<ChavePreco, Produto> arvore;
+	private final PriorityQueue<ProdutoPerecivel> descontosPendentes =
+			new PriorityQueue<>(Comparator.comparingLong(ProdutoPerecivel::getDiaDoDesconto));
+	private final PriorityQueue<ProdutoPerecivel> vencimentosPendentes =
+			new PriorityQueue<>(Comparator.comparing(ProdutoPerecivel::getDataDeValidade));
+	private long diaDosPrecos;   // dia ao qual correspondem os preços das chaves.
+
+	/**
+	 * Construtor da classe. Monta o índice com os produtos informados e os preços de hoje.
+	 * @param produtos todos os produtos do cadastro.
+	 */
+	public IndicePorPreco(Produto[] produtos) {
+
+		long dia = ProdutoPerecivel.diaDeHoje();
+
+		diaDosPrecos = dia;
+		arvore = new AVL<>();
+		LeitorProdutos.indexarOrdenado(arvore, produtos, p -> chave(p, dia), 1);
+		for (Produto produto : produtos)
+			agendar(produto);
+	}
+
+	private static ChavePreco chave(Produto produto, long dia) {
+
+		double preco = (produto instanceof ProdutoPerecivel perecivel) ? perecivel.valorDeVenda(dia) : produto.valorDeVenda();
+
+		return new ChavePreco(preco, produto.idProduto);
+	}
+
+	/** Coloca um produto perecível na fila de descontos ou, se já tiver desconto no dia dos preços, na de vencimentos. */
+	private void agendar(Produto produto) {
+
+		if (produto instanceof ProdutoPerecivel perecivel) {
+			if (perecivel.getDiaDoDesconto() > diaDosPrecos)
+				descontosPendentes.add(perecivel);
+			else
+				vencimentosPendentes.add(perecivel);
+		}
+	}
+
+	/**
+	 * Inclui um produto no índice, com o preço do dia da última atualização.
+	 * @param produto o produto a ser incluído.
+	 */
+	public void inserir(Produto produto) {
+		arvore.inserir(chave(produto, diaDosPrecos), produto);
+		agendar(produto);
+	}
+
+	/**
+	 * Retira um produto do índice. Se ele ainda estiver numa das filas, é descartado quando chegar sua vez.
+	 * @param produto o produto a ser retirado.
+	 * @throws NoSuchElementException se o produto não estiver no índice.
+	 */
+	public void remover(Produto produto) {
+		arvore.remover(chave(produto, diaDosPrecos));
+	}
+
+	/**
+	 * Atualiza o índice até o dia de hoje: troca as chaves dos perecíveis cujo desconto começou desde a última atualização
+	 * e retira os que venceram.
+	 * @return a quantidade de produtos com chave trocada ou retirados.
+	 */
+	public int atualizar() {
+		return atualizar(ProdutoPerecivel.diaDeHoje());
+	}
+
+	/**
+	 * Atualiza o índice até o dia informado: troca as chaves dos perecíveis cujo desconto começou até esse dia
+	 * e retira os que, nesse dia, já estiverem vencidos, pois não têm mais valor de venda.
+	 * @param dia o novo dia dos preços, em dias desde 01/01/1970.
+	 * @return a quantidade de produtos com chave trocada ou retirados.
+	 */
+	int atualizar(long dia) {
+
+		int alterados = 0;
+
+		while (!descontosPendentes.isEmpty() && descontosPendentes.peek().getDiaDoDesconto() <= dia) {
+			ProdutoPerecivel perecivel = descontosPendentes.poll();
+			Produto removido;
+			try {
+				removido = arvore.remover(chave(perecivel, diaDosPrecos));
+			} catch (NoSuchElementException excecao) {
+				/// Produto já retirado do índice.
+				continue;
+			}
+			if (perecivel.getDataDeValidade().toEpochDay() >= dia) {
+				arvore.inserir(chave(perecivel, dia), removido);
+				vencimentosPendentes.add(perecivel);
+			}
+			alterados++;
+		}
+
+		while (!vencimentosPendentes.isEmpty() && vencimentosPendentes.peek().getDataDeValidade().toEpochDay() < dia) {
+			ProdutoPerecivel perecivel = vencimentosPendentes.poll();
+			try {
+				arvore.remover(chave(perecivel, diaDosPrecos));
+				alterados++;
+			} catch (NoSuchElementException excecao) {
+				/// Produto já retirado do índice.
+			}
+		}
+		diaDosPrecos = dia;
+		return alterados;
+	}
+
+	/**
+	 * Retorna os produtos mais baratos, em ordem crescente de preço.
+	 * @param quantidade a quantidade máxima de produtos.
+	 * @return os produtos mais baratos.
+	 */
+	public List<Produto> maisBaratos(int quantidade) {
+		return arvore.pagina(0, quantidade);
+	}
+
+	/**
+	 * Retorna os produtos com valor de venda entre os limites informados, inclusive, em ordem crescente de preço.
+	 * @param minimo o menor preço.
+	 * @param maximo o maior preço.
+	 * @return os produtos da faixa de preço.
+	 */
+	public List<Produto> entre(double minimo, double maximo) {
+		return arvore.entre(new ChavePreco(minimo, Integer.MIN_VALUE), new ChavePreco(maximo, Integer.MAX_VALUE));
+	}
+
+	public int tamanho() {
+		return arvore.tamanho();
+	}
+
+	/** Diagnóstico da forma da árvore do índice. */
+	public FormaArvore forma() {
+		return arvore.forma();
+	}
+
+	@Override
+	public long getComparacoes() {
+		return arvore.getComparacoes();
+	}
+
+	@Override
+	public double getTempo() {
+		return arvore.getTempo();
+	}
+
+	@Override
+	public void ativarMetricas() {
+		arvore.ativarMetricas();
+	}
+
+	@Override
+	public void desativarMetricas() {
+		arvore.desativarMetricas();
+	}
+
+	@Override
+	public Metricas getMetricas() {
+		return arvore.getMetricas();
+	}
+}
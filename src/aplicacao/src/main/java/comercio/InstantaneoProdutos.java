@@ -0,0 +1,231 @@
+package comercio;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instantâneo binário dos produtos carregados, para carga rápida na inicialização.
+ *
+ * O arquivo guarda todos os produtos, na ordem do arquivo-texto de origem (ou seja, em ordem crescente de identificador),
+ * em registros binários de tamanho compacto; produtos com a mesma descrição são todos mantidos, como no mapeamento por id.
+ * Guarda também a ordem da árvore por nome: as posições dos registros dos produtos que ela contém (um por descrição),
+ * em ordem crescente de descrição. Na leitura, o arquivo é mapeado em memória e os registros são convertidos diretamente
+ * em produtos, sem interpretação de texto, e a árvore por nome é remontada por carga em lote
+ * ({@link ABB#carregarOrdenados(List, List)}) nessa ordem, sem nenhuma comparação de chaves.
+ *
+ * Formato: cabeçalho (identificador do formato, versão e quantidade de produtos), seguido de um registro por produto:
+ * tipo (byte), identificador (int), descrição (tamanho em bytes, int, e bytes UTF-8), preço de custo (double),
+ * margem de lucro (double) e, para perecíveis, data de validade (dia desde a época, long). Por fim, a ordem por nome:
+ * quantidade de posições (int) e as posições dos registros (int cada).
+ */
+public class InstantaneoProdutos {
+
+	private static final int IDENTIFICADOR_FORMATO = 0x50524F44; // "PROD"
+	private static final int VERSAO = 3;
+	private static final byte TIPO_NAO_PERECIVEL = 1;
+	private static final byte TIPO_PERECIVEL = 2;
+	/** Menor registro possível: tipo, identificador, tamanho da descrição (vazia), preço de custo e margem de lucro. */
+	private static final int TAMANHO_MINIMO_REGISTRO = 1 + 4 + 4 + 8 + 8;
+
+	/** Conteúdo de um instantâneo: os produtos e a ordem da árvore por nome. */
+	public static final class Conteudo {
+
+		/** Todos os produtos, na ordem em que foram gravados. */
+		public final Produto[] produtos;
+		/** Posições, em {@link #produtos}, dos produtos da árvore por nome, em ordem crescente de descrição. */
+		public final int[] ordemPorNome;
+
+		private Conteudo(Produto[] produtos, int[] ordemPorNome) {
+			this.produtos = produtos;
+			this.ordemPorNome = ordemPorNome;
+		}
+
+		/**
+		 * Monta a árvore por nome, pela carga em lote na ordem gravada, sem nenhuma comparação de chaves.
+		 * O conteúdo anterior da árvore é descartado.
+		 * @param arvore a árvore a ser montada, com o mesmo comparador de descrições da árvore gravada.
+		 */
+		public void montarArvorePorNome(ABB<String, Produto> arvore) {
+
+			List<String> chaves = new ArrayList<>(ordemPorNome.length);
+			List<Produto> itens = new ArrayList<>(ordemPorNome.length);
+
+			for (int posicao : ordemPorNome) {
+				chaves.add(produtos[posicao].descricao);
+				itens.add(produtos[posicao]);
+			}
+			arvore.carregarOrdenados(chaves, itens);
+		}
+	}
+
+	private InstantaneoProdutos() {
+	}
+
+	/**
+	 * Grava o instantâneo dos produtos, na ordem informada, e a ordem da árvore por nome.
+	 * @param produtos todos os produtos carregados, na ordem do arquivo-texto.
+	 * @param porNome a árvore por nome montada a partir desses produtos.
+	 * @param nomeArquivo nome do arquivo binário.
+	 * @throws IOException em caso de problemas na gravação.
+	 * @throws IllegalArgumentException se a árvore contiver um produto que não está entre os informados.
+	 */
+	public static void gravar(Produto[] produtos, ABB<String, Produto> porNome, String nomeArquivo) throws IOException {
+
+		int[] ordemPorNome = ordemPorNome(produtos, porNome);
+
+		try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Paths.get(nomeArquivo))))) {
+			saida.writeInt(IDENTIFICADOR_FORMATO);
+			saida.writeInt(VERSAO);
+			saida.writeInt(produtos.length);
+
+			for (Produto produto : produtos)
+				gravarProduto(saida, produto);
+
+			saida.writeInt(ordemPorNome.length);
+			for (int posicao : ordemPorNome)
+				saida.writeInt(posicao);
+		}
+	}
+
+	/**
+	 * Posições, no vetor de produtos, dos produtos da árvore, em ordem crescente de chave. Os produtos são localizados
+	 * por identidade, sem comparar descrições.
+	 */
+	private static int[] ordemPorNome(Produto[] produtos, ABB<String, Produto> porNome) {
+
+		Map<Produto, Integer> posicoes = new IdentityHashMap<>(produtos.length);
+		int[] ordem = new int[porNome.tamanho()];
+		int i = 0;
+
+		for (int posicao = 0; posicao < produtos.length; posicao++)
+			posicoes.put(produtos[posicao], posicao);
+		for (Map.Entry<String, Produto> entrada : porNome) {
+			Integer posicao = posicoes.get(entrada.getValue());
+			if (posicao == null)
+				throw new IllegalArgumentException("Produto da árvore ausente do instantâneo: " + entrada.getKey());
+			ordem[i++] = posicao;
+		}
+		return ordem;
+	}
+
+	private static void gravarProduto(DataOutputStream saida, Produto produto) throws IOException {
+
+		byte[] descricao = produto.descricao.getBytes(StandardCharsets.UTF_8);
+
+		saida.writeByte((produto instanceof ProdutoPerecivel) ? TIPO_PERECIVEL : TIPO_NAO_PERECIVEL);
+		saida.writeInt(produto.idProduto);
+		saida.writeInt(descricao.length);
+		saida.write(descricao);
+		saida.writeDouble(produto.precoCusto);
+		saida.writeDouble(produto.margemLucro);
+		if (produto instanceof ProdutoPerecivel)
+			saida.writeLong(((ProdutoPerecivel) produto).getDataDeValidade().toEpochDay());
+	}
+
+	/**
+	 * Lê os produtos de um instantâneo, por mapeamento do arquivo em memória. Os produtos mantêm os identificadores gravados,
+	 * e o gerador de identificadores é ajustado para não repeti-los.
+	 * @param nomeArquivo nome do arquivo binário.
+	 * @return os produtos, na ordem em que foram gravados, e a ordem da árvore por nome.
+	 * @throws IOException em caso de problemas na leitura, ou se o arquivo não for um instantâneo válido.
+	 */
+	public static Conteudo ler(String nomeArquivo) throws IOException {
+
+		MappedByteBuffer dados;
+		Produto[] produtos;
+		int[] ordemPorNome;
+		int quantidade;
+		int maiorID = -1;
+
+		try (FileChannel canal = FileChannel.open(Paths.get(nomeArquivo), StandardOpenOption.READ)) {
+			dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+		}
+
+		try {
+			if (dados.getInt() != IDENTIFICADOR_FORMATO || dados.getInt() != VERSAO)
+				throw new IOException("O arquivo não é um instantâneo de produtos válido.");
+
+			quantidade = dados.getInt();
+			if (quantidade < 0 || quantidade > dados.remaining() / TAMANHO_MINIMO_REGISTRO)
+				throw new IOException("Quantidade de produtos inválida no instantâneo: " + quantidade);
+			produtos = new Produto[quantidade];
+			for (int i = 0; i < produtos.length; i++) {
+				produtos[i] = lerProduto(dados);
+				maiorID = Math.max(maiorID, produtos[i].idProduto);
+			}
+
+			quantidade = dados.getInt();
+			if (quantidade < 0 || quantidade > produtos.length)
+				throw new IOException("Quantidade de produtos por nome inválida no instantâneo: " + quantidade);
+			ordemPorNome = new int[quantidade];
+			for (int i = 0; i < ordemPorNome.length; i++) {
+				ordemPorNome[i] = dados.getInt();
+				if (ordemPorNome[i] < 0 || ordemPorNome[i] >= produtos.length)
+					throw new IOException("Posição de produto inválida no instantâneo: " + ordemPorNome[i]);
+			}
+		} catch (BufferUnderflowException excecao) {
+			throw new IOException("O instantâneo de produtos está incompleto.", excecao);
+		} catch (NegativeArraySizeException | IllegalArgumentException | DateTimeException excecao) {
+			/// Tamanho de descrição negativo, dados de produto recusados pelo construtor (como uma validade já vencida)
+			/// ou data fora do intervalo aceito.
+			throw new IOException("O instantâneo de produtos contém um registro inválido.", excecao);
+		}
+
+		Produto.registrarIDEmUso(maiorID);
+		return new Conteudo(produtos, ordemPorNome);
+	}
+
+	private static Produto lerProduto(MappedByteBuffer dados) throws IOException {
+
+		byte tipo = dados.get();
+		int id = dados.getInt();
+		byte[] bytesDescricao = new byte[dados.getInt()];
+		String descricao;
+		double precoCusto, margemLucro;
+
+		dados.get(bytesDescricao);
+		descricao = new String(bytesDescricao, StandardCharsets.UTF_8);
+		precoCusto = dados.getDouble();
+		margemLucro = dados.getDouble();
+
+		if (tipo == TIPO_PERECIVEL)
+			return new ProdutoPerecivel(id, descricao, precoCusto, margemLucro, LocalDate.ofEpochDay(dados.getLong()));
+		else if (tipo == TIPO_NAO_PERECIVEL)
+			return new ProdutoNaoPerecivel(id, descricao, precoCusto, margemLucro);
+		throw new IOException("Tipo de produto inválido no instantâneo: " + tipo);
+	}
+
+	/**
+	 * Indica se o instantâneo existe e é mais recente que o arquivo-texto de origem, podendo substituí-lo na carga.
+	 * @param nomeArquivo nome do arquivo binário.
+	 * @param nomeArquivoTexto nome do arquivo-texto de produtos.
+	 * @return true se o instantâneo estiver atualizado.
+	 */
+	public static boolean atualizado(String nomeArquivo, String nomeArquivoTexto) {
+
+		Path instantaneo = Paths.get(nomeArquivo);
+		Path texto = Paths.get(nomeArquivoTexto);
+
+		try {
+			return Files.isRegularFile(instantaneo)
+					&& Files.getLastModifiedTime(instantaneo).compareTo(Files.getLastModifiedTime(texto)) >= 0;
+		} catch (IOException excecao) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,286 @@
+package comercio;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Leitor de arquivos de produtos no formato
+ * N (quantidade de produtos) <br/>
+ * tipo;descrição;preçoDeCusto;margemDeLucro;[dataDeValidade] <br/>
+ *
+ * O arquivo é lido sequencialmente, por um {@link BufferedReader} com buffer grande, e cada linha é convertida por
+ * {@link Produto#criarDoTexto(String)} e entregue imediatamente aos destinos (por exemplo, a inserção numa árvore),
+ * sem acumular o conteúdo do arquivo em memória. Vários índices podem ser preenchidos numa única leitura,
+ * todos com as mesmas instâncias de produto.
+ *
+ * Para arquivos muito grandes, há também a carga paralela ({@link #lerEmParalelo(String, int)}): o arquivo é dividido
+ * em blocos alinhados ao fim das linhas, convertidos simultaneamente num {@link ForkJoinPool}, e os produtos
+ * podem ser organizados numa árvore balanceada por ordenação paralela seguida de carga em lote
+ * ({@link #indexarOrdenado(ABB, Produto[], Function, int)}).
+ */
+public class LeitorProdutos {
+
+	/** Tamanho do buffer de leitura, em caracteres. */
+	private static final int TAMANHO_BUFFER = 1 << 16;
+
+	/** Blocos por thread na carga paralela: blocos menores equilibram melhor a carga entre as threads. */
+	private static final int BLOCOS_POR_THREAD = 4;
+
+	/** Par chave/produto usado na ordenação paralela. */
+	private static class Par<K> {
+		final K chave;
+		final Produto produto;
+
+		Par(K chave, Produto produto) {
+			this.chave = chave;
+			this.produto = produto;
+		}
+	}
+
+	private LeitorProdutos() {
+	}
+
+	/**
+	 * Cria um destino de leitura que insere cada produto no índice informado, com a chave obtida pelo extrator.
+	 * @param indice a estrutura de busca a ser preenchida.
+	 * @param extratorDeChave função que extrai, de cada produto, a chave usada no índice.
+	 * @return a ação de inserção, para ser usada em {@link #ler(String, Consumer...)}.
+	 */
+	public static <K> Consumer<Produto> indexar(IMapeamento<K, Produto> indice, Function<Produto, K> extratorDeChave) {
+		return p -> indice.inserir(extratorDeChave.apply(p), p);
+	}
+
+	/**
+	 * Lê o arquivo de produtos uma única vez, entregando cada produto lido a todos os destinos informados, na ordem em que foram passados.
+	 * Se o arquivo terminar antes da quantidade indicada na primeira linha, a leitura se encerra no fim do arquivo.
+	 * @param nomeArquivo Nome do arquivo de dados a ser aberto.
+	 * @param destinos Ações que recebem cada produto lido.
+	 * @return a quantidade de produtos lidos.
+	 * @throws IOException em caso de problemas na leitura do arquivo.
+	 */
+	@SafeVarargs
+	public static int ler(String nomeArquivo, Consumer<Produto>... destinos) throws IOException {
+
+		int numProdutos;
+		int lidos = 0;
+		String linha;
+
+		try (BufferedReader arquivo = new BufferedReader(
+				Files.newBufferedReader(Paths.get(nomeArquivo), StandardCharsets.UTF_8), TAMANHO_BUFFER)) {
+
+			linha = arquivo.readLine();
+			if (linha == null)
+				return 0;
+			numProdutos = Integer.parseInt(linha.trim());
+
+			while (lidos < numProdutos && (linha = arquivo.readLine()) != null) {
+				Produto produto = Produto.criarDoTexto(linha);
+				for (Consumer<Produto> destino : destinos)
+					destino.accept(produto);
+				lidos++;
+			}
+		}
+		return lidos;
+	}
+
+	/**
+	 * Carga paralela do arquivo de produtos. O arquivo é lido de uma vez e dividido em blocos que terminam em fim de linha;
+	 * numa primeira etapa, as linhas de cada bloco são contadas e, na segunda, os blocos são convertidos em produtos,
+	 * todos em paralelo. Como a posição de cada linha no arquivo é conhecida, os produtos recebem identificadores
+	 * consecutivos na ordem do arquivo, exatamente como na leitura sequencial.
+	 * @param nomeArquivo Nome do arquivo de dados a ser aberto.
+	 * @param paralelismo Quantidade de threads usadas na conversão.
+	 * @return os produtos lidos, na ordem do arquivo.
+	 * @throws IOException em caso de problemas na leitura do arquivo.
+	 */
+	public static Produto[] lerEmParalelo(String nomeArquivo, int paralelismo) throws IOException {
+
+		byte[] dados = Files.readAllBytes(Paths.get(nomeArquivo));
+		int inicioProdutos = fimDaLinha(dados, 0, dados.length);
+		int numProdutos;
+		int[] limites;
+		int[] primeiraLinha;
+		Produto[] produtos;
+		int primeiroID;
+		ForkJoinPool pool;
+
+		if (dados.length == 0)
+			return new Produto[0];
+		numProdutos = Integer.parseInt(new String(dados, 0, inicioProdutos, StandardCharsets.UTF_8).trim());
+		limites = dividirEmBlocos(dados, inicioProdutos, paralelismo * BLOCOS_POR_THREAD);
+
+		pool = new ForkJoinPool(paralelismo);
+		try {
+			/// Etapa 1: contagem das linhas de cada bloco, para saber a posição da primeira linha de cada um.
+			List<Callable<Integer>> contagens = new ArrayList<>();
+			for (int b = 0; b + 1 < limites.length; b++) {
+				int inicio = limites[b], fim = limites[b + 1];
+				contagens.add(() -> contarLinhas(dados, inicio, fim));
+			}
+			List<Integer> linhasPorBloco = aguardar(pool.invokeAll(contagens));
+
+			primeiraLinha = new int[linhasPorBloco.size() + 1];
+			for (int b = 0; b < linhasPorBloco.size(); b++)
+				primeiraLinha[b + 1] = primeiraLinha[b] + linhasPorBloco.get(b);
+
+			produtos = new Produto[Math.min(numProdutos, primeiraLinha[linhasPorBloco.size()])];
+			primeiroID = Produto.reservarIDs(produtos.length);
+
+			/// Etapa 2: conversão dos blocos em produtos, cada um gravado na posição de sua linha.
+			List<Callable<Integer>> conversoes = new ArrayList<>();
+			for (int b = 0; b + 1 < limites.length; b++) {
+				int inicio = limites[b], fim = limites[b + 1], linha = primeiraLinha[b];
+				conversoes.add(() -> converterBloco(dados, inicio, fim, linha, primeiroID, produtos));
+			}
+			aguardar(pool.invokeAll(conversoes));
+		} finally {
+			pool.shutdown();
+		}
+		return produtos;
+	}
+
+	/**
+	 * Organiza os produtos numa árvore balanceada, pela chave indicada: as chaves são extraídas e ordenadas em paralelo,
+	 * e a árvore é montada em lote ({@link ABB#carregarOrdenados(List, List)}), sem inserções individuais.
+	 * Para chaves repetidas, prevalece o último produto, como aconteceria com inserções sucessivas.
+	 * @param arvore a árvore a ser preenchida; seu conteúdo anterior é descartado.
+	 * @param produtos os produtos, na ordem do arquivo.
+	 * @param extratorDeChave função que extrai, de cada produto, a chave usada na árvore.
+	 * @param paralelismo Quantidade de threads usadas na ordenação.
+	 */
+	public static <K> void indexarOrdenado(ABB<K, Produto> arvore, Produto[] produtos, Function<Produto, K> extratorDeChave,
+			int paralelismo) {
+
+		@SuppressWarnings("unchecked")
+		Par<K>[] pares = (Par<K>[]) new Par<?>[produtos.length];
+		Comparator<Par<K>> porChave = Comparator.comparing(par -> par.chave, arvore.comparador);
+		List<K> chaves = new ArrayList<>(produtos.length);
+		List<Produto> itens = new ArrayList<>(produtos.length);
+		ForkJoinPool pool = new ForkJoinPool(paralelismo);
+
+		try {
+			/// Tarefas disparadas de dentro do pool (inclusive a ordenação paralela) usam as threads deste pool.
+			pool.submit(() -> {
+				IntStream.range(0, produtos.length).parallel()
+						.forEach(i -> pares[i] = new Par<>(extratorDeChave.apply(produtos[i]), produtos[i]));
+				Arrays.parallelSort(pares, porChave);
+			}).join();
+		} finally {
+			pool.shutdown();
+		}
+
+		/// A ordenação é estável: entre chaves iguais, o último par é o que aparece por último no arquivo.
+		for (Par<K> par : pares) {
+			int ultimo = chaves.size() - 1;
+			if (ultimo >= 0 && arvore.comparador.compare(chaves.get(ultimo), par.chave) == 0) {
+				itens.set(ultimo, par.produto);
+			} else {
+				chaves.add(par.chave);
+				itens.add(par.produto);
+			}
+		}
+		arvore.carregarOrdenados(chaves, itens);
+	}
+
+	/** Retorna a posição seguinte ao primeiro '\n' a partir de {@code inicio}, ou {@code fim} se não houver. */
+	private static int fimDaLinha(byte[] dados, int inicio, int fim) {
+
+		for (int i = inicio; i < fim; i++)
+			if (dados[i] == '\n')
+				return i + 1;
+		return fim;
+	}
+
+	/**
+	 * Divide [inicio, dados.length) em blocos de tamanho aproximadamente igual, ajustando cada limite para logo após um '\n'.
+	 * Como '\n' nunca aparece dentro de um caractere UTF-8 de vários bytes, nenhum caractere é partido.
+	 * @return os limites dos blocos: o bloco b é [limites[b], limites[b + 1]).
+	 */
+	private static int[] dividirEmBlocos(byte[] dados, int inicio, int blocos) {
+
+		int[] limites = new int[blocos + 1];
+		long tamanhoBloco = Math.max(1, (dados.length - inicio) / blocos);
+
+		limites[0] = inicio;
+		for (int b = 1; b < blocos; b++) {
+			int alvo = (int) Math.min(dados.length, inicio + b * tamanhoBloco);
+			limites[b] = fimDaLinha(dados, Math.max(alvo, limites[b - 1]), dados.length);
+		}
+		limites[blocos] = dados.length;
+		return limites;
+	}
+
+	/** Conta as linhas de [inicio, fim): cada '\n' encerra uma linha, e um trecho final sem '\n' também conta, se não for vazio. */
+	private static int contarLinhas(byte[] dados, int inicio, int fim) {
+
+		int linhas = 0;
+
+		for (int i = inicio; i < fim; i++)
+			if (dados[i] == '\n')
+				linhas++;
+		if (fim > inicio && dados[fim - 1] != '\n')
+			linhas++;
+		return linhas;
+	}
+
+	/**
+	 * Converte as linhas de [inicio, fim) em produtos. A linha de número n (contado desde a primeira linha de produto)
+	 * recebe o identificador primeiroID + n e é gravada em produtos[n]; linhas além da quantidade esperada são ignoradas.
+	 * @return a quantidade de produtos convertidos.
+	 */
+	private static int converterBloco(byte[] dados, int inicio, int fim, int primeiraLinha, int primeiroID, Produto[] produtos) {
+
+		int linha = primeiraLinha;
+		int inicioLinha = inicio;
+
+		while (inicioLinha < fim && linha < produtos.length) {
+			int proxima = fimDaLinha(dados, inicioLinha, fim);
+			int fimLinha = proxima;
+			if (fimLinha > inicioLinha && dados[fimLinha - 1] == '\n')
+				fimLinha--;
+			if (fimLinha > inicioLinha && dados[fimLinha - 1] == '\r')
+				fimLinha--;
+
+			String texto = new String(dados, inicioLinha, fimLinha - inicioLinha, StandardCharsets.UTF_8);
+			produtos[linha] = Produto.criarDoTexto(texto, primeiroID + linha);
+			linha++;
+			inicioLinha = proxima;
+		}
+		return linha - primeiraLinha;
+	}
+
+	/**
+	 * Aguarda o término das tarefas e coleta seus resultados. Exceções das tarefas (por exemplo, linhas inválidas) são relançadas.
+	 */
+	private static <T> List<T> aguardar(List<Future<T>> tarefas) throws IOException {
+
+		List<T> resultados = new ArrayList<>(tarefas.size());
+
+		try {
+			for (Future<T> tarefa : tarefas)
+				resultados.add(tarefa.get());
+		} catch (InterruptedException excecao) {
+			Thread.currentThread().interrupt();
+			throw new IOException("A carga paralela foi interrompida.", excecao);
+		} catch (ExecutionException excecao) {
+			if (excecao.getCause() instanceof RuntimeException)
+				throw (RuntimeException) excecao.getCause();
+			throw new IOException(excecao.getCause());
+		}
+		return resultados;
+	}
+}
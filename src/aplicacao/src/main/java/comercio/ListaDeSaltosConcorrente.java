@@ -0,0 +1,389 @@
+package comercio;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Lista de saltos (skip list) ordenada e livre de travas, para uso concorrente.
+ *
+ * Cada nó participa de um número aleatório de níveis, e cada nível é uma lista encadeada ordenada pela chave.
+ * Todas as alterações são feitas por operações atômicas de comparação e troca (CAS) sobre as referências entre os nós:
+ * nenhuma thread bloqueia outra. A remoção é feita em duas etapas: o nó é primeiro marcado (remoção lógica), e as
+ * referências a ele são depois desviadas (remoção física) por qualquer thread que passe por ele.
+ * As pesquisas apenas percorrem a lista, ignorando os nós marcados, e nunca repetem o percurso.
+ *
+ * Usa o mesmo contrato de {@link Comparator} da {@link ABB}. As medições (comparações e tempo) são mantidas por thread:
+ * {@link #getComparacoes()} e {@link #getTempo()} retornam os dados da última operação da própria thread, e as métricas
+ * acumuladas ({@link #getMetricas()}) somam as operações de todas as threads.
+ */
+public class ListaDeSaltosConcorrente<K, V> implements IMapeamento<K, V> {
+
+	private static final int MAX_NIVEL = 31;
+
+	private static final class Nodo<K, V> {
+		final K chave;
+		volatile V item;
+		final AtomicMarkableReference<Nodo<K, V>>[] proximos;
+		final int nivelTopo;
+
+		@SuppressWarnings("unchecked")
+		Nodo(K chave, V item, int nivelTopo) {
+			this.chave = chave;
+			this.item = item;
+			this.nivelTopo = nivelTopo;
+			proximos = (AtomicMarkableReference<Nodo<K, V>>[]) new AtomicMarkableReference<?>[nivelTopo + 1];
+			for (int nivel = 0; nivel <= nivelTopo; nivel++)
+				proximos[nivel] = new AtomicMarkableReference<>(null, false);
+		}
+	}
+
+	/** Medição da última operação de uma thread. */
+	private static class Medicao {
+		long comparacoes;
+		long inicio;
+		long termino;
+	}
+
+	private final Nodo<K, V> cabeca = new Nodo<>(null, null, MAX_NIVEL);  // sentinela menor que todas as chaves.
+	private final Nodo<K, V> cauda = new Nodo<>(null, null, MAX_NIVEL);   // sentinela maior que todas as chaves.
+	private final Comparator<K> comparador;
+	private final AtomicInteger tamanho = new AtomicInteger();
+	private final ThreadLocal<Medicao> medicoes = ThreadLocal.withInitial(Medicao::new);
+	private volatile Metricas metricas; // métricas acumuladas das operações de todas as threads, ou null se desativadas.
+
+	/**
+	 * Construtor da classe.
+	 * O comparador padrão de ordem natural será utilizado.
+	 */
+	@SuppressWarnings("unchecked")
+	public ListaDeSaltosConcorrente() {
+		this((Comparator<K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da lista.
+	 */
+	public ListaDeSaltosConcorrente(Comparator<K> comparador) {
+		this.comparador = comparador;
+		for (int nivel = 0; nivel <= MAX_NIVEL; nivel++)
+			cabeca.proximos[nivel].set(cauda, false);
+	}
+
+	/** Compara a chave do nó com a chave procurada; a cauda é maior que qualquer chave e não conta como comparação. */
+	private int comparar(Nodo<K, V> no, K chave, Medicao medicao) {
+
+		if (no == cauda)
+			return 1;
+		medicao.comparacoes++;
+		return comparador.compare(no.chave, chave);
+	}
+
+	/** Sorteia o nível mais alto de um novo nó: o nível n é alcançado com probabilidade 1/2^n. */
+	private static int sortearNivel() {
+		return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << MAX_NIVEL));
+	}
+
+	/**
+	 * Localiza, em cada nível, o último nó menor que a chave (predecessor) e o primeiro maior ou igual (sucessor),
+	 * desviando pelo caminho as referências a nós marcados. Se um desvio falhar (outra thread alterou a lista), o percurso recomeça.
+	 * @return true se a chave estiver na lista (nesse caso, é o sucessor no nível 0).
+	 */
+	private boolean localizar(K chave, Nodo<K, V>[] predecessores, Nodo<K, V>[] sucessores, Medicao medicao) {
+
+		boolean[] marcado = { false };
+		Nodo<K, V> pred, atual = null, succ;
+		int comparacao = 1;
+
+		tentativa:
+		while (true) {
+			pred = cabeca;
+			for (int nivel = MAX_NIVEL; nivel >= 0; nivel--) {
+				atual = pred.proximos[nivel].getReference();
+				while (true) {
+					succ = atual.proximos[nivel].get(marcado);
+					while (marcado[0]) {
+						if (!pred.proximos[nivel].compareAndSet(atual, succ, false, false))
+							continue tentativa;
+						atual = succ;
+						succ = atual.proximos[nivel].get(marcado);
+					}
+					comparacao = comparar(atual, chave, medicao);
+					if (comparacao < 0) {
+						pred = atual;
+						atual = succ;
+					} else {
+						break;
+					}
+				}
+				predecessores[nivel] = pred;
+				sucessores[nivel] = atual;
+			}
+			return comparacao == 0;
+		}
+	}
+
+	@Override
+	public V pesquisar(K chave) {
+
+		Medicao medicao = medicoes.get();
+		boolean[] marcado = { false };
+		Nodo<K, V> pred = cabeca, atual = null, succ;
+		int comparacao = 1;
+
+		medicao.comparacoes = 0;
+		medicao.inicio = System.nanoTime();
+		for (int nivel = MAX_NIVEL; nivel >= 0; nivel--) {
+			atual = pred.proximos[nivel].getReference();
+			while (true) {
+				succ = atual.proximos[nivel].get(marcado);
+				while (marcado[0]) {
+					/// Nó removido logicamente: apenas passa por ele, sem alterar a lista.
+					atual = succ;
+					succ = atual.proximos[nivel].get(marcado);
+				}
+				comparacao = comparar(atual, chave, medicao);
+				if (comparacao < 0) {
+					pred = atual;
+					atual = succ;
+				} else {
+					break;
+				}
+			}
+		}
+		medicao.termino = System.nanoTime();
+		registrar(Operacao.PESQUISAR, medicao);
+
+		if (comparacao != 0)
+			throw new NoSuchElementException("O item não foi localizado na lista!");
+		return atual.item;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public int inserir(K chave, V item) {
+
+		Medicao medicao = medicoes.get();
+		Nodo<K, V>[] predecessores = (Nodo<K, V>[]) new Nodo<?, ?>[MAX_NIVEL + 1];
+		Nodo<K, V>[] sucessores = (Nodo<K, V>[]) new Nodo<?, ?>[MAX_NIVEL + 1];
+		int nivelTopo = sortearNivel();
+
+		medicao.comparacoes = 0;
+		medicao.inicio = System.nanoTime();
+		try {
+			while (true) {
+				if (localizar(chave, predecessores, sucessores, medicao)) {
+					/// Chave já existente: apenas atualiza o item.
+					sucessores[0].item = item;
+					return tamanho.get();
+				}
+
+				Nodo<K, V> novo = new Nodo<>(chave, item, nivelTopo);
+				for (int nivel = 0; nivel <= nivelTopo; nivel++)
+					novo.proximos[nivel].set(sucessores[nivel], false);
+
+				/// A inserção se concretiza quando o nó é ligado ao nível 0; se outra thread alterou o predecessor, recomeça.
+				if (!predecessores[0].proximos[0].compareAndSet(sucessores[0], novo, false, false))
+					continue;
+
+				ligarNiveisSuperiores(novo, predecessores, sucessores, medicao);
+				return tamanho.incrementAndGet();
+			}
+		} finally {
+			medicao.termino = System.nanoTime();
+			registrar(Operacao.INSERIR, medicao);
+		}
+	}
+
+	/**
+	 * Liga o nó recém-inserido aos níveis 1 a nivelTopo, de baixo para cima. Quando a ligação a um nível falha, a lista
+	 * mudou entre o predecessor e o sucessor: o percurso é refeito, e a referência do nó naquele nível passa a apontar para
+	 * o novo sucessor antes da nova tentativa. Se o nó for removido durante a ligação (o que o marca em todos os níveis),
+	 * a ligação é abandonada: os níveis que faltam não são mais necessários, e os já ligados são desviados pelos percursos.
+	 */
+	private void ligarNiveisSuperiores(Nodo<K, V> novo, Nodo<K, V>[] predecessores, Nodo<K, V>[] sucessores, Medicao medicao) {
+
+		boolean[] marcado = { false };
+
+		for (int nivel = 1; nivel <= novo.nivelTopo; nivel++) {
+			while (true) {
+				Nodo<K, V> proximo = novo.proximos[nivel].get(marcado);
+
+				if (marcado[0] || novo.proximos[0].isMarked())
+					return;
+				if (proximo != sucessores[nivel] && !novo.proximos[nivel].compareAndSet(proximo, sucessores[nivel], false, false))
+					continue;   // marcado neste intervalo: a remoção é detectada na próxima volta.
+				if (predecessores[nivel].proximos[nivel].compareAndSet(sucessores[nivel], novo, false, false))
+					break;
+				localizar(novo.chave, predecessores, sucessores, medicao);
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remover(K chave) {
+
+		Medicao medicao = medicoes.get();
+		Nodo<K, V>[] predecessores = (Nodo<K, V>[]) new Nodo<?, ?>[MAX_NIVEL + 1];
+		Nodo<K, V>[] sucessores = (Nodo<K, V>[]) new Nodo<?, ?>[MAX_NIVEL + 1];
+		boolean[] marcado = { false };
+
+		medicao.comparacoes = 0;
+		medicao.inicio = System.nanoTime();
+		try {
+			if (!localizar(chave, predecessores, sucessores, medicao))
+				throw new NoSuchElementException("O item não foi localizado na lista!");
+
+			Nodo<K, V> alvo = sucessores[0];
+
+			/// Marca os níveis superiores, de cima para baixo.
+			for (int nivel = alvo.nivelTopo; nivel >= 1; nivel--) {
+				Nodo<K, V> succ = alvo.proximos[nivel].get(marcado);
+				while (!marcado[0]) {
+					alvo.proximos[nivel].attemptMark(succ, true);
+					succ = alvo.proximos[nivel].get(marcado);
+				}
+			}
+
+			/// A remoção se concretiza com a marca no nível 0; se outra thread marcou antes, a chave já não existe.
+			Nodo<K, V> succ = alvo.proximos[0].get(marcado);
+			while (true) {
+				boolean marcouAgora = alvo.proximos[0].compareAndSet(succ, succ, false, true);
+				succ = alvo.proximos[0].get(marcado);
+				if (marcouAgora) {
+					/// Desvia as referências ao nó removido.
+					localizar(chave, predecessores, sucessores, medicao);
+					tamanho.decrementAndGet();
+					return alvo.item;
+				} else if (marcado[0]) {
+					throw new NoSuchElementException("O item não foi localizado na lista!");
+				}
+			}
+		} finally {
+			medicao.termino = System.nanoTime();
+			registrar(Operacao.REMOVER, medicao);
+		}
+	}
+
+	/**
+	 * Confere a estrutura entre os níveis, para uso nos testes, sem escritas simultâneas: cada nível deve estar em ordem
+	 * estritamente crescente de chave e conter exatamente os nós do nível 0 cujo nível mais alto o alcança.
+	 */
+	boolean niveisConsistentes() {
+
+		for (int nivel = 0; nivel <= MAX_NIVEL; nivel++) {
+			Nodo<K, V> esperado = proximoNoNivel(cabeca, nivel);   // próximo nó do nível 0 que deve estar neste nível.
+			Nodo<K, V> anterior = null;
+
+			for (Nodo<K, V> atual = proximoVivo(cabeca, nivel); atual != cauda; atual = proximoVivo(atual, nivel)) {
+				if (anterior != null && comparador.compare(anterior.chave, atual.chave) >= 0)
+					return false;
+				if (atual != esperado)
+					return false;
+				anterior = atual;
+				esperado = proximoNoNivel(atual, nivel);
+			}
+			if (esperado != cauda)
+				return false;
+		}
+		return true;
+	}
+
+	/** Próximo nó não marcado depois do informado, seguindo as referências do nível. */
+	private Nodo<K, V> proximoVivo(Nodo<K, V> no, int nivel) {
+
+		Nodo<K, V> atual = no.proximos[nivel].getReference();
+
+		while (atual != cauda && atual.proximos[0].isMarked())
+			atual = atual.proximos[nivel].getReference();
+		return atual;
+	}
+
+	/** Próximo nó não marcado depois do informado, pelo nível 0, que participa do nível dado. */
+	private Nodo<K, V> proximoNoNivel(Nodo<K, V> no, int nivel) {
+
+		Nodo<K, V> atual = proximoVivo(no, 0);
+
+		while (atual != cauda && atual.nivelTopo < nivel)
+			atual = proximoVivo(atual, 0);
+		return atual;
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho.get();
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	/**
+	 * Lista os itens em ordem crescente de chave, um por linha, percorrendo o nível 0.
+	 * Com escritas simultâneas, reflete o estado da lista em algum momento durante o percurso.
+	 */
+	@Override
+	public String percorrer() {
+
+		StringBuilder sb = new StringBuilder();
+		boolean[] marcado = { false };
+		Nodo<K, V> atual = cabeca.proximos[0].getReference();
+
+		while (atual != cauda) {
+			Nodo<K, V> proximo = atual.proximos[0].get(marcado);
+			if (!marcado[0])
+				sb.append(atual.item).append("\n");
+			atual = proximo;
+		}
+		return sb.toString();
+	}
+
+	/** Comparações realizadas na última operação da thread atual. */
+	@Override
+	public long getComparacoes() {
+		return medicoes.get().comparacoes;
+	}
+
+	/** Tempo, em milissegundos, da última operação da thread atual. */
+	@Override
+	public double getTempo() {
+
+		Medicao medicao = medicoes.get();
+
+		return (medicao.termino - medicao.inicio) / 1_000_000.0;
+	}
+
+	/**
+	 * Registra a última operação da thread, com suas comparações e seu tempo, nas métricas acumuladas, se estiverem ativadas.
+	 * @param operacao o tipo da operação encerrada.
+	 * @param medicao a medição da operação, da própria thread.
+	 */
+	private void registrar(Operacao operacao, Medicao medicao) {
+
+		Metricas atuais = metricas;
+
+		if (atuais != null)
+			atuais.registrar(operacao, medicao.comparacoes, medicao.termino - medicao.inicio);
+	}
+
+	@Override
+	public synchronized void ativarMetricas() {
+		if (metricas == null)
+			metricas = new Metricas();
+	}
+
+	@Override
+	public void desativarMetricas() {
+		metricas = null;
+	}
+
+	@Override
+	public Metricas getMetricas() {
+		return metricas;
+	}
+}
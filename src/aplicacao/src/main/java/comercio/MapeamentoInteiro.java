@@ -0,0 +1,241 @@
+package comercio;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Mapeamento especializado para chaves inteiras (por exemplo, o identificador dos produtos).
+ * As chaves são mantidas num vetor de {@code int} ordenado, paralelo ao vetor de itens, e localizadas
+ * por pesquisa binária. Nenhuma chave é encapsulada em {@link Integer} nas operações primitivas:
+ * {@link #pesquisar(int)}, {@link #inserir(int, Object)} e {@link #remover(int)}.
+ * Os métodos de {@link IMapeamento} continuam disponíveis, e apenas convertem a chave recebida.
+ *
+ * Inserções de chaves maiores que todas as existentes (caso dos identificadores, que são crescentes)
+ * são feitas ao final do vetor, em tempo constante amortizado.
+ */
+public class MapeamentoInteiro<V> implements IMapeamento<Integer, V> {
+
+	private static final int CAPACIDADE_INICIAL = 16;
+
+	private int[] chaves;       // chaves armazenadas, em ordem crescente.
+	private Object[] itens;     // itens, na mesma posição de suas chaves.
+	private int tamanho;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private volatile Metricas metricas; // métricas acumuladas das operações, ou null se desativadas.
+
+	/**
+	 * Construtor da classe.
+	 * Cria um mapeamento vazio, com a capacidade inicial padrão.
+	 */
+	public MapeamentoInteiro() {
+		this(CAPACIDADE_INICIAL);
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria um mapeamento vazio, já dimensionado para a quantidade de itens esperada.
+	 * @param capacidade quantidade de itens que o mapeamento comporta antes de precisar ser redimensionado.
+	 */
+	public MapeamentoInteiro(int capacidade) {
+		capacidade = Math.max(capacidade, 1);
+		chaves = new int[capacidade];
+		itens = new Object[capacidade];
+		tamanho = 0;
+	}
+
+	/**
+	 * Pesquisa binária pela chave. Cada elemento examinado é contabilizado como uma comparação.
+	 * @param chave a chave procurada.
+	 * @return a posição da chave, se existir; caso contrário, (-(ponto de inserção) - 1).
+	 */
+	private int localizar(int chave) {
+
+		int esquerda = 0;
+		int direita = tamanho - 1;
+
+		/// Atalho para chaves crescentes: se a chave é maior que a última, a posição de inserção é o final.
+		if (tamanho > 0) {
+			comparacoes++;
+			if (chave > chaves[direita])
+				return -(tamanho + 1);
+		}
+
+		while (esquerda <= direita) {
+			int meio = (esquerda + direita) >>> 1;
+			comparacoes++;
+			if (chaves[meio] < chave)
+				esquerda = meio + 1;
+			else if (chaves[meio] > chave)
+				direita = meio - 1;
+			else
+				return meio;
+		}
+		return -(esquerda + 1);
+	}
+
+	/**
+	 * Pesquisa o item associado à chave inteira informada.
+	 * @param chave a chave do item que será pesquisado.
+	 * @return o valor associado à chave.
+	 * @throws NoSuchElementException se a chave não existir.
+	 */
+	@SuppressWarnings("unchecked")
+	public V pesquisar(int chave) {
+
+		int posicao;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		posicao = localizar(chave);
+		termino = System.nanoTime();
+		registrar(Operacao.PESQUISAR);
+
+		if (posicao < 0)
+			throw new NoSuchElementException("O item não foi localizado no mapeamento!");
+		return (V) itens[posicao];
+	}
+
+	/**
+	 * Adiciona um item ao mapeamento, associando-o à chave inteira fornecida.
+	 * Caso a chave já exista, o item associado a ela é substituído.
+	 * @param chave a chave associada ao item.
+	 * @param item o item que será inserido.
+	 * @return o tamanho atualizado do mapeamento após a inserção.
+	 */
+	public int inserir(int chave, V item) {
+
+		int posicao;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		posicao = localizar(chave);
+
+		if (posicao >= 0) {
+			itens[posicao] = item;
+		} else {
+			posicao = -(posicao + 1);
+			if (tamanho == chaves.length) {
+				int novaCapacidade = chaves.length * 2;
+				chaves = Arrays.copyOf(chaves, novaCapacidade);
+				itens = Arrays.copyOf(itens, novaCapacidade);
+			}
+			System.arraycopy(chaves, posicao, chaves, posicao + 1, tamanho - posicao);
+			System.arraycopy(itens, posicao, itens, posicao + 1, tamanho - posicao);
+			chaves[posicao] = chave;
+			itens[posicao] = item;
+			tamanho++;
+		}
+		termino = System.nanoTime();
+		registrar(Operacao.INSERIR);
+
+		return tamanho;
+	}
+
+	/**
+	 * Remove o item associado à chave inteira informada.
+	 * @param chave a chave do item que deverá ser removido.
+	 * @return o valor associado ao item removido.
+	 * @throws NoSuchElementException se a chave não existir.
+	 */
+	@SuppressWarnings("unchecked")
+	public V remover(int chave) {
+
+		int posicao;
+		V removido;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		posicao = localizar(chave);
+
+		if (posicao < 0) {
+			termino = System.nanoTime();
+			registrar(Operacao.REMOVER);
+			throw new NoSuchElementException("O item não foi localizado no mapeamento!");
+		}
+
+		removido = (V) itens[posicao];
+		System.arraycopy(chaves, posicao + 1, chaves, posicao, tamanho - posicao - 1);
+		System.arraycopy(itens, posicao + 1, itens, posicao, tamanho - posicao - 1);
+		tamanho--;
+		itens[tamanho] = null;
+		termino = System.nanoTime();
+		registrar(Operacao.REMOVER);
+
+		return removido;
+	}
+
+	@Override
+	public int inserir(Integer chave, V item) {
+		return inserir(chave.intValue(), item);
+	}
+
+	@Override
+	public V pesquisar(Integer chave) {
+		return pesquisar(chave.intValue());
+	}
+
+	@Override
+	public V remover(Integer chave) {
+		return remover(chave.intValue());
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	/**
+	 * Lista os itens em ordem crescente de chave, um por linha.
+	 */
+	@Override
+	public String percorrer() {
+
+		StringBuilder sb = new StringBuilder();
+
+		for (int i = 0; i < tamanho; i++)
+			sb.append(itens[i]).append("\n");
+		return sb.toString();
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	/** Registra a última operação nas métricas acumuladas, se estiverem ativadas. */
+	private void registrar(Operacao operacao) {
+
+		Metricas atuais = metricas;
+
+		if (atuais != null)
+			atuais.registrar(operacao, comparacoes, termino - inicio);
+	}
+
+	@Override
+	public synchronized void ativarMetricas() {
+		if (metricas == null)
+			metricas = new Metricas();
+	}
+
+	@Override
+	public void desativarMetricas() {
+		metricas = null;
+	}
+
+	@Override
+	public Metricas getMetricas() {
+		return metricas;
+	}
+}
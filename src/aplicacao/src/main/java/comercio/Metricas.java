@@ -0,0 +1,104 @@
+package comercio;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas acumuladas de uma estrutura de busca, por tipo de operação: quantidade de operações, total de comparações
+ * e histograma de latências, em nanossegundos.
+ *
+ * Ao contrário de {@link IMedicao#getComparacoes()} e {@link IMedicao#getTempo()}, que descrevem apenas a última operação,
+ * as métricas somam todas as operações desde que foram ativadas, permitindo acompanhar, por exemplo, o p50 e o p99
+ * das pesquisas. As estruturas só mantêm métricas depois de {@link IMedicao#ativarMetricas()}; desativadas, o custo
+ * por operação se resume a um teste de referência nula. O registro pode ser feito por várias threads ao mesmo tempo.
+ */
+public class Metricas {
+
+	private static final Operacao[] OPERACOES = Operacao.values();
+
+	private final LongAdder[] comparacoes = new LongAdder[OPERACOES.length];
+	private final HistogramaLatencia[] latencias = new HistogramaLatencia[OPERACOES.length];
+	private volatile boolean suspensas;   // enquanto verdadeiro, as operações encerradas não são registradas.
+
+	public Metricas() {
+		for (Operacao operacao : OPERACOES) {
+			comparacoes[operacao.ordinal()] = new LongAdder();
+			latencias[operacao.ordinal()] = new HistogramaLatencia();
+		}
+	}
+
+	/**
+	 * Registra uma operação encerrada.
+	 * @param operacao o tipo da operação.
+	 * @param comparacoesOperacao as comparações realizadas na operação.
+	 * @param nanos a duração da operação, em nanossegundos.
+	 */
+	public void registrar(Operacao operacao, long comparacoesOperacao, long nanos) {
+
+		if (suspensas)
+			return;
+		comparacoes[operacao.ordinal()].add(comparacoesOperacao);
+		latencias[operacao.ordinal()].registrar(nanos);
+	}
+
+	/**
+	 * Suspende o registro das operações, mantendo as métricas já acumuladas. Serve para as operações de manutenção
+	 * (como a varredura diária dos produtos vencidos), que não devem se misturar às operações do usuário.
+	 */
+	public void suspender() {
+		suspensas = true;
+	}
+
+	/** Retoma o registro das operações, depois de {@link #suspender()}. */
+	public void retomar() {
+		suspensas = false;
+	}
+
+	public long getQuantidade(Operacao operacao) {
+		return latencias[operacao.ordinal()].getQuantidade();
+	}
+
+	/** Total de comparações realizadas nas operações do tipo informado. */
+	public long getComparacoes(Operacao operacao) {
+		return comparacoes[operacao.ordinal()].sum();
+	}
+
+	/** Média de comparações por operação do tipo informado, ou 0 se não houve nenhuma. */
+	public double getMediaComparacoes(Operacao operacao) {
+
+		long quantidade = getQuantidade(operacao);
+
+		return (quantidade == 0) ? 0 : (double) getComparacoes(operacao) / quantidade;
+	}
+
+	/** Histograma das latências, em nanossegundos, das operações do tipo informado. */
+	public HistogramaLatencia getLatencias(Operacao operacao) {
+		return latencias[operacao.ordinal()];
+	}
+
+	/** Descarta todas as métricas acumuladas. */
+	public void zerar() {
+		for (Operacao operacao : OPERACOES) {
+			comparacoes[operacao.ordinal()].reset();
+			latencias[operacao.ordinal()].zerar();
+		}
+	}
+
+	/** Tabela com uma linha por tipo de operação já realizada: quantidade, comparações médias e latências (em microssegundos). */
+	@Override
+	public String toString() {
+
+		StringBuilder sb = new StringBuilder();
+
+		sb.append(String.format("%-10s %10s %10s %10s %10s %10s %10s%n",
+				"Operação", "Quantidade", "Comp/op", "Média(µs)", "p50(µs)", "p99(µs)", "Máx(µs)"));
+		for (Operacao operacao : OPERACOES) {
+			HistogramaLatencia histograma = getLatencias(operacao);
+			if (histograma.getQuantidade() == 0)
+				continue;
+			sb.append(String.format("%-10s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+					operacao, histograma.getQuantidade(), getMediaComparacoes(operacao), histograma.getMedia() / 1e3,
+					histograma.percentil(0.50) / 1e3, histograma.percentil(0.99) / 1e3, histograma.maximo() / 1e3));
+		}
+		return sb.toString();
+	}
+}
@@ -1,3 +1,5 @@
+package comercio;
+
 public class No<K, V> {
 
 	private K chave;       // chave identificadora do item armazenado no nodo da árvore.
@@ -5,6 +7,7 @@ public class No<K, V> {
 	private No<K, V> direita;    // referência ao nodo armazenado, na árvore, à direita do nó em questão.
 	private No<K, V> esquerda;   // referência ao nodo armazenado, na árvore, à esquerda do nó em questão.
 	private int altura;
+	private int quantidade; // quantidade de nodos da sub-árvore que tem este nodo como raiz, incluindo ele mesmo.
 	
 	public No(K chave, V item) {
 		setChave(chave);
@@ -12,6 +15,7 @@ public class No<K, V> {
 	    setDireita(null);
 	    setEsquerda(null);
 	    altura = 0;
+	    quantidade = 1;
 	}
 
 	public V getItem() {
@@ -71,6 +75,22 @@ public class No<K, V> {
 			altura = alturaDireita + 1;
 	}
 	
+	private int getQuantidade(No<K, V> no) {
+		
+		if (no != null)
+			return no.getQuantidade();
+		else
+			return 0;
+	}
+	
+	public int getQuantidade() {
+		return this.quantidade;
+	}
+	
+	public void setQuantidade() {
+		quantidade = getQuantidade(esquerda) + getQuantidade(direita) + 1;
+	}
+	
 	public int getFatorBalanceamento() {
 		
 		int alturaEsquerda, alturaDireita;
@@ -0,0 +1,10 @@
+package comercio;
+
+/** Tipos de operação contabilizados separadamente nas {@link Metricas} das estruturas de busca. */
+public enum Operacao {
+	INSERIR,
+	PESQUISAR,
+	REMOVER,
+	/** Consultas pela ordem das chaves: intervalos, prefixos, vizinhos, posições e páginas. */
+	CONSULTAR
+}
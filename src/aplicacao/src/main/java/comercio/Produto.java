@@ -0,0 +1,307 @@
+package comercio;
+
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+public abstract class Produto implements Comparable<Produto>{
+	
+	private static final double MARGEM_PADRAO = 0.2;
+	private static int ultimoID = 10_000;
+	
+	/** Formato das datas nos arquivos de dados e nas descrições dos produtos. Compartilhado, pois é imutável. */
+	static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+	
+	/** Formatador de moeda, criado uma única vez por thread, pois {@link NumberFormat} não pode ser compartilhado entre threads. */
+	private static final ThreadLocal<NumberFormat> MOEDA = ThreadLocal.withInitial(NumberFormat::getCurrencyInstance);
+	
+	/** Potências de 10 exatamente representáveis em double, usadas na leitura de valores decimais. */
+	private static final double[] POTENCIAS_DE_10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+	};
+	
+	protected int idProduto;
+	protected String descricao;
+	protected double precoCusto;
+	protected double margemLucro;
+	
+	/**
+     * Inicializador privado. Os valores default, em caso de erro, são:
+     * "Produto sem descrição", R$ 0.00, 0.0  
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço do produto (mínimo 0.01)
+     * @param margemLucro Margem de lucro (mínimo 0.01)
+     */
+	private void init(String desc, double precoCusto, double margemLucro) {
+		
+		init(desc, precoCusto, margemLucro, 0);
+		idProduto = reservarIDs(1);
+	}
+	
+	/**
+     * Inicializador privado, com identificador informado.
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço do produto (mínimo 0.01)
+     * @param margemLucro Margem de lucro (mínimo 0.01)
+     * @param id Identificador do produto
+     */
+	private void init(String desc, double precoCusto, double margemLucro, int id) {
+		
+		if ((desc.length() >= 3) && (precoCusto > 0.0) && (margemLucro > 0.0)) {
+			descricao = desc;
+			this.precoCusto = precoCusto;
+			this.margemLucro = margemLucro;
+			idProduto = id;
+
+		} else {
+			throw new IllegalArgumentException("Valores inválidos para os dados do produto.");
+		}
+	}
+	
+	/**
+	 * Reserva uma faixa de identificadores consecutivos, para que produtos criados em paralelo
+	 * recebam identificadores na ordem do arquivo, e não na ordem em que cada thread os criou.
+	 * @param quantidade quantidade de identificadores a reservar.
+	 * @return o primeiro identificador da faixa reservada.
+	 */
+	static synchronized int reservarIDs(int quantidade) {
+		
+		int primeiro = ultimoID;
+		
+		ultimoID += quantidade;
+		return primeiro;
+	}
+	
+	/**
+	 * Garante que os próximos identificadores gerados sejam maiores que um identificador já em uso
+	 * (por exemplo, o de um produto restaurado de um arquivo binário).
+	 * @param idEmUso identificador já atribuído a um produto.
+	 */
+	static synchronized void registrarIDEmUso(int idEmUso) {
+		
+		if (idEmUso >= ultimoID)
+			ultimoID = idEmUso + 1;
+	}
+	
+	/**
+     * Construtor completo. Os valores default, em caso de erro, são:
+     * "Produto sem descrição", R$ 0.00, 0.0  
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço do produto (mínimo 0.01)
+     * @param margemLucro Margem de lucro (mínimo 0.01)
+     */
+	protected Produto(String desc, double precoCusto, double margemLucro) {
+		init(desc, precoCusto, margemLucro);
+	}
+	
+	/**
+     * Construtor sem margem de lucro - fica considerado o valor padrão de margem de lucro.
+     * Os valores default, em caso de erro, são:
+     * "Produto sem descrição", R$ 0.00 
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço do produto (mínimo 0.01)
+     */
+	protected Produto(String desc, double precoCusto) {
+		init(desc, precoCusto, MARGEM_PADRAO);
+	}
+	
+	/**
+     * Construtor com identificador já reservado (ver {@link #reservarIDs(int)}), usado na carga paralela de produtos.
+     * @param id Identificador do produto
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço do produto (mínimo 0.01)
+     * @param margemLucro Margem de lucro (mínimo 0.01)
+     */
+	protected Produto(int id, String desc, double precoCusto, double margemLucro) {
+		init(desc, precoCusto, margemLucro, id);
+	}
+	
+	 /**
+     * Retorna o valor de venda do produto, considerando seu preço de custo e margem de lucro.
+     * @return Valor de venda do produto (double, positivo)
+     */
+	public abstract double valorDeVenda();
+	
+	/**
+     * Descrição, em string, do produto, contendo sua descrição e o valor de venda.
+     *  @return String com o formato:
+     * [NOME]: R$ [VALOR DE VENDA]
+     */
+    @Override
+	public String toString() {
+    	
+    	StringBuilder dados = new StringBuilder();
+    	
+    	descrever(dados);
+		return dados.toString();
+	}
+    
+    /**
+     * Acrescenta ao destino a mesma descrição de {@link #toString()}, sem criar uma string intermediária.
+     * Permite que listagens longas reaproveitem um único buffer para todos os produtos.
+     * @param destino o buffer que recebe a descrição.
+     */
+    void descrever(StringBuilder destino) {
+    	destino.append("IDENTIFICADOR: ").append(idProduto)
+    		.append(" NOME: ").append(descricao)
+    		.append(": ").append(MOEDA.get().format(valorDeVenda()));
+    }
+    
+    @Override
+    /**
+     * Retorna o código identificador do produto. É um valor único para cada produto (== chave).
+     * @return Inteiro positivo com o identificador do produto.
+     */
+    public int hashCode(){
+        return idProduto;
+    }
+
+    /**
+     * Igualdade de produtos: caso possuam o mesmo código. 
+     * @param obj Outro produto a ser comparado 
+     * @return booleano true/false conforme o parâmetro possua o mesmo código identificador deste objeto
+     */
+    @Override
+    public boolean equals(Object obj){
+        try{
+            Produto outro = (Produto)obj;
+            return this.hashCode() == outro.hashCode();
+        }catch (ClassCastException ex){
+            return false;
+        }
+    }
+    
+    public int compareTo(Produto outro){
+    	return this.descricao.compareTo(outro.descricao);
+    }
+    
+    /**
+     * Cria um produto a partir de uma linha de dados em formato texto. A linha de dados deve estar de acordo com a formatação
+     * "tipo;descrição;preçoDeCusto;margemDeLucro;[dataDeValidade]"
+     * ou o funcionamento não será garantido. Os tipos são 1, para produto não perecível; e 2, para perecível.
+     * Os campos são lidos diretamente da linha, sem divisão em vetor nem substituições de texto: apenas a descrição gera uma nova string.
+     * @param linha Linha com os dados do produto a ser criado.
+     * @return Um produto com os dados recebidos
+     */
+    static Produto criarDoTexto(String linha) {
+    	return criarDoTexto(linha, -1);
+    }
+    
+    /**
+     * Cria um produto a partir de uma linha de dados em formato texto, como em {@link #criarDoTexto(String)}.
+     * @param linha Linha com os dados do produto a ser criado.
+     * @param id Identificador já reservado para o produto, ou um valor negativo para gerar o próximo identificador.
+     * @return Um produto com os dados recebidos
+     */
+    static Produto criarDoTexto(String linha, int id) {
+     
+    	int fimTipo, fimDescricao, fimPreco, fimMargem;
+    	int tipo;
+    	String descricao;
+    	double precoCusto, margemLucro;
+    	LocalDate dataDeValidade;
+    	Produto produto;
+    	
+    	fimTipo = linha.indexOf(';');
+    	fimDescricao = linha.indexOf(';', fimTipo + 1);
+    	fimPreco = linha.indexOf(';', fimDescricao + 1);
+    	fimMargem = linha.indexOf(';', fimPreco + 1);
+    	if (fimMargem < 0)
+    		fimMargem = linha.length();
+    	
+    	tipo = Integer.parseInt(linha, 0, fimTipo, 10);
+    	descricao = linha.substring(fimTipo + 1, fimDescricao);
+    	precoCusto = lerDecimal(linha, fimDescricao + 1, fimPreco);
+        margemLucro = lerDecimal(linha, fimPreco + 1, fimMargem);
+        if (tipo == 2) {
+    		dataDeValidade = lerData(linha, fimMargem + 1, linha.length());
+    		produto = (id < 0) ? new ProdutoPerecivel(descricao, precoCusto, margemLucro, dataDeValidade)
+    				: new ProdutoPerecivel(id, descricao, precoCusto, margemLucro, dataDeValidade);
+    	} else {
+    		produto = (id < 0) ? new ProdutoNaoPerecivel(descricao, precoCusto, margemLucro)
+    				: new ProdutoNaoPerecivel(id, descricao, precoCusto, margemLucro);
+    	}
+    	
+    	return produto;
+    }
+    
+    /**
+     * Lê um número decimal do trecho [inicio, fim) do texto, aceitando vírgula ou ponto como separador decimal (ex.: "3,88").
+     * Dígitos e separador são tratados diretamente; formatos fora desse padrão (expoente, números muito longos)
+     * são repassados a {@link Double#parseDouble(String)}.
+     * @return o valor lido.
+     * @throws NumberFormatException se o trecho não contiver um número válido.
+     */
+    static double lerDecimal(CharSequence texto, int inicio, int fim) {
+    	
+    	long mantissa = 0;
+    	int casasDecimais = -1;
+    	int digitos = 0;
+    	boolean negativo = false;
+    	int i = inicio;
+    	
+    	if (i < fim && texto.charAt(i) == '-') {
+    		negativo = true;
+    		i++;
+    	}
+    	for (; i < fim; i++) {
+    		char c = texto.charAt(i);
+    		if (c >= '0' && c <= '9') {
+    			mantissa = mantissa * 10 + (c - '0');
+    			digitos++;
+    			if (casasDecimais >= 0)
+    				casasDecimais++;
+    		} else if ((c == ',' || c == '.') && casasDecimais < 0) {
+    			casasDecimais = 0;
+    		} else {
+    			break;
+    		}
+    	}
+    	
+    	if (i < fim || digitos == 0 || digitos > 15)
+    		/// Formato não tratado aqui: converte pela biblioteca padrão.
+    		return Double.parseDouble(texto.subSequence(inicio, fim).toString().replace(',', '.'));
+    	
+    	/// Mantissa e potência de 10 são exatas em double, então a divisão tem o mesmo arredondamento de parseDouble.
+    	double valor = (casasDecimais > 0) ? mantissa / POTENCIAS_DE_10[casasDecimais] : mantissa;
+    	return negativo ? -valor : valor;
+    }
+    
+    /**
+     * Lê uma data no formato dd/MM/yyyy do trecho [inicio, fim) do texto, sem passar pelo {@link DateTimeFormatter}.
+     * Trechos fora desse formato exato são repassados a {@link #FORMATO_DATA}.
+     * @return a data lida.
+     * @throws java.time.DateTimeException se a data for inválida.
+     */
+    static LocalDate lerData(CharSequence texto, int inicio, int fim) {
+    	
+    	if (fim - inicio == 10 && texto.charAt(inicio + 2) == '/' && texto.charAt(inicio + 5) == '/') {
+    		int dia = lerInteiro(texto, inicio, inicio + 2);
+    		int mes = lerInteiro(texto, inicio + 3, inicio + 5);
+    		int ano = lerInteiro(texto, inicio + 6, inicio + 10);
+    		if (dia >= 0 && mes >= 0 && ano >= 0)
+    			return LocalDate.of(ano, mes, dia);
+    	}
+    	return LocalDate.parse(texto.subSequence(inicio, fim), FORMATO_DATA);
+    }
+    
+    /** Lê um inteiro não negativo de [inicio, fim). Retorna -1 se houver algum caractere que não seja dígito. */
+    private static int lerInteiro(CharSequence texto, int inicio, int fim) {
+    	
+    	int valor = 0;
+    	
+    	for (int i = inicio; i < fim; i++) {
+    		char c = texto.charAt(i);
+    		if (c < '0' || c > '9')
+    			return -1;
+    		valor = valor * 10 + (c - '0');
+    	}
+    	return valor;
+    }
+    	
+    /**
+     * Gera uma linha de texto a partir dos dados do produto.
+     * @return Uma string no formato "tipo;descrição;preçoDeCusto;margemDeLucro;[dataDeValidade]"
+     */
+    public abstract String gerarDadosTexto();
+}
\ No newline at end of file
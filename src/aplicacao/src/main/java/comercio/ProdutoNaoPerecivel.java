@@ -1,3 +1,5 @@
+package comercio;
+
 public class ProdutoNaoPerecivel extends Produto{
 
 	/**
@@ -20,6 +22,18 @@ public class ProdutoNaoPerecivel extends Produto{
 	public ProdutoNaoPerecivel(String desc, double precoCusto) {
 		super(desc, precoCusto);
 	}
+	
+	/**
+     * Construtor com identificador já reservado, usado na carga paralela de produtos.
+     * @param id Identificador do produto
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço de compra do produto (mínimo 0.01)
+     * @param margemLucro Margem de lucro para a venda (mínimo 0.01)
+     * @throws IllegalArgumentException em caso dos limites acima serem desrespeitados.
+     */
+	ProdutoNaoPerecivel(int id, String desc, double precoCusto, double margemLucro) {
+		super(id, desc, precoCusto, margemLucro);
+	}
 
 	/**
      * Retorna o valor de venda do produto, considerando seu preço de custo e margem de lucro
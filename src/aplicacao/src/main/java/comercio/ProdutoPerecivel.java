@@ -0,0 +1,193 @@
+package comercio;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+public class ProdutoPerecivel extends Produto{
+
+	/** Desconto para proximidade de validade: 25% */
+	private static final double DESCONTO = 0.25;
+	
+	/** Prazo, em dias, para conceder o desconto por proximidade da validade */
+	private static final int PRAZO_DESCONTO = 7;
+	
+	/** Data de validade do produto. Não pode ser anterior à data da criação ou venda do produto. */
+	private LocalDate dataDeValidade;
+	
+	/** Data de validade, em dias desde 01/01/1970, para as comparações com o dia de hoje. */
+	private long diaDeValidade;
+	
+	/** Dia de hoje, em dias desde 01/01/1970, e o instante (em milissegundos) em que ele termina. */
+	private static final class Hoje {
+		final long dia;
+		final long termino;
+		
+		Hoje(long dia, long termino) {
+			this.dia = dia;
+			this.termino = termino;
+		}
+	}
+	
+	/** Dia de hoje, compartilhado por todos os produtos e recalculado apenas depois da meia-noite. */
+	private static volatile Hoje hoje = calcularHoje();
+	
+	private static Hoje calcularHoje() {
+		
+		ZoneId fuso = ZoneId.systemDefault();
+		LocalDate data = LocalDate.now(fuso);
+		
+		return new Hoje(data.toEpochDay(), data.plusDays(1).atStartOfDay(fuso).toInstant().toEpochMilli());
+	}
+	
+	/**
+	 * Retorna o dia de hoje, em dias desde 01/01/1970. A data só é recalculada (com fuso horário e calendário) quando
+	 * o dia guardado termina; nas demais chamadas, o custo é o de uma leitura do relógio.
+	 * @return o dia de hoje.
+	 */
+	static long diaDeHoje() {
+		
+		Hoje atual = hoje;
+		
+		if (System.currentTimeMillis() >= atual.termino) {
+			atual = calcularHoje();
+			hoje = atual;
+		}
+		return atual.dia;
+	}
+	
+	/**
+     * Construtor completo. 
+     * Causa exceção em caso de valores inválidos para os dados do produto.
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço de compra do produto (mínimo 0.01)
+     * @param margemLucro Margem de lucro para a venda (mínimo 0.01)
+     * @param validade Data de validade do produto, que deve ser posterior à data atual.
+     * @throws IllegalArgumentException em caso dos limites acima serem desrespeitados.
+     */
+	public ProdutoPerecivel(String desc, double precoCusto, double margemLucro, LocalDate validade) {
+		
+		super(desc, precoCusto, margemLucro);
+		
+		if (validade.toEpochDay() < diaDeHoje()) {
+			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
+		}
+		dataDeValidade = validade;
+		diaDeValidade = validade.toEpochDay();
+	}
+	
+	/**
+     * Construtor do produto com margem de lucro padrão (20%). Causa exceção em caso de valores inválidos para os dados do produto.
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço de compra do produto (mínimo 0.01)
+     * @param validade Data de validade do produto, que deve ser posterior à data atual.
+     * @throws IllegalArgumentException em caso dos limites acima serem desrespeitados.
+     */
+	public ProdutoPerecivel(String desc, double precoCusto, LocalDate validade) {
+		
+		super(desc, precoCusto);
+		
+		if (validade.toEpochDay() < diaDeHoje()) {
+			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
+		}
+		dataDeValidade = validade;
+		diaDeValidade = validade.toEpochDay();
+	}
+
+	/**
+     * Construtor com identificador já reservado, usado na carga paralela de produtos.
+     * @param id Identificador do produto
+     * @param desc Descrição do produto (mínimo de 3 caracteres)
+     * @param precoCusto Preço de compra do produto (mínimo 0.01)
+     * @param margemLucro Margem de lucro para a venda (mínimo 0.01)
+     * @param validade Data de validade do produto, que deve ser posterior à data atual.
+     * @throws IllegalArgumentException em caso dos limites acima serem desrespeitados.
+     */
+	ProdutoPerecivel(int id, String desc, double precoCusto, double margemLucro, LocalDate validade) {
+		
+		super(id, desc, precoCusto, margemLucro);
+		
+		if (validade.toEpochDay() < diaDeHoje()) {
+			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
+		}
+		dataDeValidade = validade;
+		diaDeValidade = validade.toEpochDay();
+	}
+
+	/**
+     * Retorna o valor de venda do produto, considerando seu preço de custo, margem de lucro e
+     * dias de validade. Se o prazo de validade estiver a menos de 7 dias, será concedido desconto de 25%.
+     * O prazo é a diferença, em dias, entre a validade e o dia de hoje, obtido de {@link #diaDeHoje()}.
+     * @return Valor de venda do produto (double, positivo)
+     */
+	@Override
+	public double valorDeVenda() {
+		return valorDeVenda(diaDeHoje());
+	}
+	
+	/**
+     * Retorna o valor de venda do produto no dia informado, com as mesmas regras de {@link #valorDeVenda()}.
+     * @param diaAtual o dia da venda, em dias desde 01/01/1970.
+     * @return Valor de venda do produto (double, positivo)
+     */
+	double valorDeVenda(long diaAtual) {
+		
+		double precoVenda;
+		
+		if (diaDeValidade < diaAtual) {
+			throw new IllegalArgumentException("Data de validade do produto é anterior ao dia de hoje!");
+		}
+		
+		precoVenda = (precoCusto * (1.0 + margemLucro));
+				
+		if (diaDeValidade - diaAtual <= PRAZO_DESCONTO) {
+			precoVenda = precoVenda * (1.0 - DESCONTO);
+		}
+		
+		return precoVenda;
+	}
+	
+	/**
+	 * Retorna o primeiro dia, em dias desde 01/01/1970, em que o produto é vendido com o desconto por proximidade da validade.
+	 */
+	long getDiaDoDesconto() {
+		return diaDeValidade - PRAZO_DESCONTO;
+	}
+	
+	/**
+	 * Retorna a data de validade do produto.
+	 * @return Data de validade do produto
+	 */
+	public LocalDate getDataDeValidade() {
+		return dataDeValidade;
+	}
+	
+	/**
+     * Descrição do produto, contendo sua descrição, o valor de venda e sua data de validade, usada também em {@link #toString()}.
+     *  Formato:
+     * [NOME]: R$ [VALOR DE VENDA]
+     * Válido até [DD/MM/YYYY]
+     * @param destino o buffer que recebe a descrição.
+     */
+    @Override
+    void descrever(StringBuilder destino) {
+    	super.descrever(destino);
+    	destino.append("\nVálido até ");
+    	FORMATO_DATA.formatTo(dataDeValidade, destino);
+    }
+    
+    /**
+     * Gera uma linha de texto a partir dos dados do produto. Preço e margem de lucro são formatados com 2 casas decimais.
+     * Data de validade é formatada no formato dd/mm/aaaa
+     * @return Uma string no formato "2;descrição;preçoDeCusto;margemDeLucro;dataDeValidade"
+     */
+	@Override
+    public String gerarDadosTexto() {
+    
+		String precoCustoFormatado = String.format("%.2f", precoCusto).replaceAll(",", ".");
+		String margemLucroFormatada = String.format("%.2f", margemLucro).replaceAll(",", ".");
+		String dataFormatada = FORMATO_DATA.format(dataDeValidade);
+		
+		return String.format("2;%s;%s;%s;%s", descricao, precoCustoFormatado, margemLucroFormatada, dataFormatada);
+		
+	}
+}
\ No newline at end of file
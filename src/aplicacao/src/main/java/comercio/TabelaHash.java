@@ -0,0 +1,314 @@
+package comercio;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Tabela hash com endereçamento separado (listas encadeadas em cada posição), para pesquisas exatas por chave.
+ *
+ * O redimensionamento é incremental: quando a taxa de ocupação ultrapassa {@link #FATOR_CARGA_MAXIMO},
+ * uma nova tabela, com o dobro do tamanho, é criada, e cada operação seguinte migra apenas algumas posições
+ * da tabela antiga. Assim, nenhuma inserção isolada paga o custo de redistribuir todos os itens.
+ * Enquanto a migração não termina, as pesquisas consultam as duas tabelas.
+ *
+ * Cada item examinado nas listas é contabilizado como uma comparação.
+ */
+public class TabelaHash<K, V> implements IMapeamento<K, V> {
+
+	private static final int CAPACIDADE_INICIAL = 16;
+	private static final double FATOR_CARGA_MAXIMO = 0.75;
+	/** Quantidade de posições da tabela antiga migradas a cada operação, durante um redimensionamento. */
+	private static final int MIGRACOES_POR_OPERACAO = 4;
+
+	private static class Entrada<K, V> {
+		final K chave;
+		final int hash;
+		V item;
+		Entrada<K, V> proxima;
+
+		Entrada(K chave, int hash, V item, Entrada<K, V> proxima) {
+			this.chave = chave;
+			this.hash = hash;
+			this.item = item;
+			this.proxima = proxima;
+		}
+	}
+
+	private Entrada<K, V>[] tabela;         // tabela atual, que recebe as novas inserções.
+	private Entrada<K, V>[] tabelaAntiga;   // tabela em migração, ou null se não houver redimensionamento em curso.
+	private int proximaMigracao;            // próxima posição da tabela antiga a ser migrada.
+	private int tamanho;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private volatile Metricas metricas;     // métricas acumuladas das operações, ou null se desativadas.
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma tabela vazia, com a capacidade inicial padrão.
+	 */
+	public TabelaHash() {
+		this(CAPACIDADE_INICIAL);
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma tabela vazia, dimensionada para a quantidade de itens esperada, evitando redimensionamentos durante a carga.
+	 * @param capacidade quantidade de itens esperada.
+	 */
+	public TabelaHash(int capacidade) {
+
+		int posicoes = CAPACIDADE_INICIAL;
+
+		while (posicoes * FATOR_CARGA_MAXIMO < capacidade)
+			posicoes *= 2;
+		tabela = criarTabela(posicoes);
+		tamanho = 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Entrada<K, V>[] criarTabela(int posicoes) {
+		return (Entrada<K, V>[]) new Entrada<?, ?>[posicoes];
+	}
+
+	/** Espalha os bits altos do hashCode, já que a posição é obtida apenas dos bits baixos. */
+	private static int espalhar(Object chave) {
+		int h = chave.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private static int posicao(int hash, int posicoes) {
+		return hash & (posicoes - 1);
+	}
+
+	/**
+	 * Percorre a lista da posição correspondente ao hash, procurando a chave.
+	 * @return a entrada com a chave procurada, ou null se ela não estiver na lista.
+	 */
+	private Entrada<K, V> localizar(Entrada<K, V>[] t, K chave, int hash) {
+
+		Entrada<K, V> atual = t[posicao(hash, t.length)];
+
+		while (atual != null) {
+			comparacoes++;
+			if (atual.hash == hash && atual.chave.equals(chave))
+				return atual;
+			atual = atual.proxima;
+		}
+		return null;
+	}
+
+	/**
+	 * Localiza a chave na tabela atual e, durante a migração, também na posição ainda não migrada da tabela antiga.
+	 */
+	private Entrada<K, V> localizar(K chave, int hash) {
+
+		Entrada<K, V> encontrada = null;
+
+		if (tabelaAntiga != null && posicao(hash, tabelaAntiga.length) >= proximaMigracao)
+			encontrada = localizar(tabelaAntiga, chave, hash);
+		if (encontrada == null)
+			encontrada = localizar(tabela, chave, hash);
+		return encontrada;
+	}
+
+	/**
+	 * Migra algumas posições da tabela antiga para a atual. Ao final da migração, a tabela antiga é descartada.
+	 */
+	private void migrarPasso() {
+
+		if (tabelaAntiga == null)
+			return;
+
+		for (int i = 0; i < MIGRACOES_POR_OPERACAO && proximaMigracao < tabelaAntiga.length; i++) {
+			Entrada<K, V> atual = tabelaAntiga[proximaMigracao];
+			while (atual != null) {
+				Entrada<K, V> proxima = atual.proxima;
+				int p = posicao(atual.hash, tabela.length);
+				atual.proxima = tabela[p];
+				tabela[p] = atual;
+				atual = proxima;
+			}
+			tabelaAntiga[proximaMigracao] = null;
+			proximaMigracao++;
+		}
+
+		if (proximaMigracao == tabelaAntiga.length)
+			tabelaAntiga = null;
+	}
+
+	/**
+	 * Inicia um redimensionamento, caso a ocupação tenha ultrapassado o limite.
+	 * Se ainda houver uma migração em curso, ela é concluída antes.
+	 */
+	private void verificarCarga() {
+
+		if (tamanho <= tabela.length * FATOR_CARGA_MAXIMO)
+			return;
+
+		while (tabelaAntiga != null)
+			migrarPasso();
+
+		tabelaAntiga = tabela;
+		tabela = criarTabela(tabelaAntiga.length * 2);
+		proximaMigracao = 0;
+	}
+
+	@Override
+	public V pesquisar(K chave) {
+
+		Entrada<K, V> encontrada;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		migrarPasso();
+		encontrada = localizar(chave, espalhar(chave));
+		termino = System.nanoTime();
+		registrar(Operacao.PESQUISAR);
+
+		if (encontrada == null)
+			throw new NoSuchElementException("O item não foi localizado na tabela!");
+		return encontrada.item;
+	}
+
+	@Override
+	public int inserir(K chave, V item) {
+
+		int hash = espalhar(chave);
+		Entrada<K, V> encontrada;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		migrarPasso();
+
+		encontrada = localizar(chave, hash);
+		if (encontrada != null) {
+			/// Chave já existente: apenas atualiza o item.
+			encontrada.item = item;
+		} else {
+			int p = posicao(hash, tabela.length);
+			tabela[p] = new Entrada<>(chave, hash, item, tabela[p]);
+			tamanho++;
+			verificarCarga();
+		}
+		termino = System.nanoTime();
+		registrar(Operacao.INSERIR);
+
+		return tamanho;
+	}
+
+	@Override
+	public V remover(K chave) {
+
+		int hash = espalhar(chave);
+		Entrada<K, V> removida = null;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		migrarPasso();
+
+		if (tabelaAntiga != null && posicao(hash, tabelaAntiga.length) >= proximaMigracao)
+			removida = removerDaLista(tabelaAntiga, chave, hash);
+		if (removida == null)
+			removida = removerDaLista(tabela, chave, hash);
+		termino = System.nanoTime();
+		registrar(Operacao.REMOVER);
+
+		if (removida == null)
+			throw new NoSuchElementException("O item não foi localizado na tabela!");
+		tamanho--;
+		return removida.item;
+	}
+
+	/**
+	 * Retira a chave da lista correspondente da tabela informada.
+	 * @return a entrada removida, ou null se a chave não estiver na lista.
+	 */
+	private Entrada<K, V> removerDaLista(Entrada<K, V>[] t, K chave, int hash) {
+
+		int p = posicao(hash, t.length);
+		Entrada<K, V> anterior = null;
+		Entrada<K, V> atual = t[p];
+
+		while (atual != null) {
+			comparacoes++;
+			if (atual.hash == hash && atual.chave.equals(chave)) {
+				if (anterior == null)
+					t[p] = atual.proxima;
+				else
+					anterior.proxima = atual.proxima;
+				return atual;
+			}
+			anterior = atual;
+			atual = atual.proxima;
+		}
+		return null;
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	/**
+	 * Lista os itens, um por linha. A ordem é a das posições da tabela, e não a das chaves.
+	 */
+	@Override
+	public String percorrer() {
+
+		StringBuilder sb = new StringBuilder();
+
+		if (tabelaAntiga != null)
+			for (int i = proximaMigracao; i < tabelaAntiga.length; i++)
+				for (Entrada<K, V> e = tabelaAntiga[i]; e != null; e = e.proxima)
+					sb.append(e.item).append("\n");
+		for (Entrada<K, V> lista : tabela)
+			for (Entrada<K, V> e = lista; e != null; e = e.proxima)
+				sb.append(e.item).append("\n");
+		return sb.toString();
+	}
+
+	/** Indica se há uma migração em curso, com itens ainda na tabela antiga. */
+	boolean migrando() {
+		return tabelaAntiga != null;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+
+	/** Registra a última operação nas métricas acumuladas, se estiverem ativadas. */
+	private void registrar(Operacao operacao) {
+
+		Metricas atuais = metricas;
+
+		if (atuais != null)
+			atuais.registrar(operacao, comparacoes, termino - inicio);
+	}
+
+	@Override
+	public synchronized void ativarMetricas() {
+		if (metricas == null)
+			metricas = new Metricas();
+	}
+
+	@Override
+	public void desativarMetricas() {
+		metricas = null;
+	}
+
+	@Override
+	public Metricas getMetricas() {
+		return metricas;
+	}
+}
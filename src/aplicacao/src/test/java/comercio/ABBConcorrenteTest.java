@@ -0,0 +1,178 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ABBConcorrenteTest {
+
+	private static final int ESCRITORAS = 4;
+	private static final int LEITORAS = 4;
+	private static final int CHAVES_POR_ESCRITORA = 5_000;
+	private static final int CHAVES_FIXAS = 1_000;
+
+	/** Executa as tarefas ao mesmo tempo, cada uma em sua thread, propagando as falhas. */
+	private static void executarEmParalelo(List<TarefaDaThread> tarefasDasThreads) throws Exception {
+
+		ExecutorService executor = Executors.newFixedThreadPool(tarefasDasThreads.size());
+		CyclicBarrier largada = new CyclicBarrier(tarefasDasThreads.size());
+		List<Future<?>> tarefas = new ArrayList<>();
+
+		try {
+			for (TarefaDaThread tarefa : tarefasDasThreads) {
+				tarefas.add(executor.submit(() -> {
+					largada.await();
+					tarefa.executar();
+					return null;
+				}));
+			}
+			for (Future<?> f : tarefas)
+				f.get();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@FunctionalInterface
+	private interface TarefaDaThread {
+		void executar() throws Exception;
+	}
+
+	@Test
+	void escritorasELeitorasSimultaneasMantemOConteudo() throws Exception {
+
+		ABBConcorrente<Integer, Integer> arvore = new ABBConcorrente<>();
+		List<TarefaDaThread> tarefas = new ArrayList<>();
+		AtomicInteger escritorasAtivas = new AtomicInteger(ESCRITORAS);
+
+		/// Chaves negativas, nunca removidas: as leitoras devem encontrá-las durante todas as escritas.
+		for (int i = 1; i <= CHAVES_FIXAS; i++)
+			arvore.inserir(-i, i);
+
+		for (int e = 0; e < ESCRITORAS; e++) {
+			int escritora = e;
+			/// Cada escritora insere chaves intercaladas com as das outras e remove as suas chaves pares.
+			tarefas.add(() -> {
+				try {
+					for (int i = 0; i < CHAVES_POR_ESCRITORA; i++) {
+						int chave = i * ESCRITORAS + escritora;
+						arvore.inserir(chave, chave);
+						if (i % 2 == 0)
+							assertEquals(chave, arvore.remover(chave));
+					}
+				} finally {
+					escritorasAtivas.decrementAndGet();
+				}
+			});
+		}
+		for (int l = 0; l < LEITORAS; l++) {
+			tarefas.add(() -> {
+				ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+				while (escritorasAtivas.get() > 0) {
+					int chave = -1 - aleatorio.nextInt(CHAVES_FIXAS);
+					assertEquals(-chave, arvore.pesquisar(chave));
+				}
+			});
+		}
+		executarEmParalelo(tarefas);
+
+		assertEquals(CHAVES_FIXAS + ESCRITORAS * CHAVES_POR_ESCRITORA / 2, arvore.tamanho());
+		for (int i = 1; i <= CHAVES_FIXAS; i++)
+			assertEquals(i, arvore.pesquisar(-i));
+		for (int e = 0; e < ESCRITORAS; e++) {
+			for (int i = 0; i < CHAVES_POR_ESCRITORA; i++) {
+				int chave = i * ESCRITORAS + e;
+				if (i % 2 == 0)
+					assertThrows(NoSuchElementException.class, () -> arvore.pesquisar(chave));
+				else
+					assertEquals(chave, arvore.pesquisar(chave));
+			}
+		}
+	}
+
+	/**
+	 * Durante a primeira comparação da leitura otimista, uma inserção rotaciona a raiz: o percurso sem trava segue pelo
+	 * filho que já não existe e não encontra a chave, mas o carimbo é invalidado e a pesquisa é refeita com a trava de leitura.
+	 */
+	@Test
+	void leituraOtimistaInvalidadaPorRotacaoEhRefeita() throws Exception {
+
+		Thread leitora = Thread.currentThread();
+		AtomicInteger comparacoesDaLeitora = new AtomicInteger();
+		Runnable[] aoComparar = { null };
+		Comparator<Integer> comparador = (a, b) -> {
+			if (Thread.currentThread() == leitora) {
+				comparacoesDaLeitora.incrementAndGet();
+				Runnable acao = aoComparar[0];
+				aoComparar[0] = null;
+				if (acao != null)
+					acao.run();
+			}
+			return Integer.compare(a, b);
+		};
+		ABBConcorrente<Integer, Integer> arvore = new ABBConcorrente<>(new AVL<>(comparador));
+
+		arvore.inserir(1, 10);
+		arvore.inserir(2, 20);
+		arvore.ativarMetricas();
+		comparacoesDaLeitora.set(0);
+
+		/// A raiz 1, com filho direito 2, passa a ser o filho esquerdo (e folha) de 2, com a inserção de 3.
+		aoComparar[0] = () -> {
+			Thread escritora = new Thread(() -> arvore.inserir(3, 30));
+			escritora.start();
+			try {
+				escritora.join();
+			} catch (InterruptedException excecao) {
+				throw new IllegalStateException(excecao);
+			}
+		};
+
+		assertEquals(20, arvore.pesquisar(2));
+		assertEquals(2, comparacoesDaLeitora.get(), "uma comparação na leitura otimista e uma na refeita");
+		assertEquals(1, arvore.getComparacoes());
+		assertEquals(3, arvore.tamanho());
+		assertEquals(1, arvore.getMetricas().getQuantidade(Operacao.PESQUISAR));
+		assertEquals(1, arvore.getMetricas().getComparacoes(Operacao.PESQUISAR));
+	}
+
+	@Test
+	void medicoesSaoDeCadaThread() throws Exception {
+
+		ABBConcorrente<Integer, Integer> arvore = new ABBConcorrente<>();
+		long[] comparacoesDaOutra = new long[2];
+
+		for (int i = 0; i < 1_023; i++)
+			arvore.inserir(i, i);
+
+		/// Numa AVL com 1023 chaves inseridas em ordem crescente, a raiz é 511 e as folhas ficam a 10 comparações dela.
+		arvore.pesquisar(511);
+		assertEquals(1, arvore.getComparacoes());
+
+		Thread outra = new Thread(() -> {
+			comparacoesDaOutra[0] = arvore.getComparacoes();
+			arvore.pesquisar(0);
+			comparacoesDaOutra[1] = arvore.getComparacoes();
+			arvore.inserir(2_000, 2_000);
+			arvore.remover(2_000);
+		});
+		outra.start();
+		outra.join();
+
+		assertEquals(0, comparacoesDaOutra[0], "a outra thread ainda não fez operações");
+		assertEquals(10, comparacoesDaOutra[1]);
+		assertEquals(1, arvore.getComparacoes(), "as operações da outra thread não alteram a medição desta");
+	}
+}
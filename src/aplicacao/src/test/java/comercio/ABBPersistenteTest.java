@@ -0,0 +1,168 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/** Versões imutáveis, instantâneos e balanceamento AVL da {@link ABBPersistente}. */
+class ABBPersistenteTest {
+
+	/**
+	 * Confere, em cada nó, a ordem das chaves, a altura e a quantidade mantidas e o fator de balanceamento da AVL.
+	 * @return a quantidade de nós da sub-árvore.
+	 */
+	private static int conferirNos(No<Integer, Integer> no, Integer minimo, Integer maximo) {
+
+		if (no == null)
+			return 0;
+
+		assertTrue(minimo == null || no.getChave() > minimo, "chave fora de ordem: " + no.getChave());
+		assertTrue(maximo == null || no.getChave() < maximo, "chave fora de ordem: " + no.getChave());
+		int esquerda = conferirNos(no.getEsquerda(), minimo, no.getChave());
+		int direita = conferirNos(no.getDireita(), no.getChave(), maximo);
+		int alturaEsquerda = (no.getEsquerda() == null) ? -1 : no.getEsquerda().getAltura();
+		int alturaDireita = (no.getDireita() == null) ? -1 : no.getDireita().getAltura();
+
+		assertEquals(esquerda + direita + 1, no.getQuantidade(), "quantidade do nó " + no.getChave());
+		assertEquals(Math.max(alturaEsquerda, alturaDireita) + 1, no.getAltura(), "altura do nó " + no.getChave());
+		assertTrue(Math.abs(alturaEsquerda - alturaDireita) <= 1, "nó " + no.getChave() + " desbalanceado");
+		return esquerda + direita + 1;
+	}
+
+	private static void conferir(ABBPersistente<Integer, Integer> arvore, Map<Integer, Integer> esperado) {
+
+		assertEquals(esperado.size(), arvore.tamanho());
+		assertEquals(esperado.size(), conferirNos(arvore.raiz(), null, null));
+		for (Map.Entry<Integer, Integer> entrada : esperado.entrySet())
+			assertEquals(entrada.getValue(), arvore.pesquisar(entrada.getKey()));
+	}
+
+	@Test
+	void instantaneoNaoVeEscritasPosteriores() {
+
+		ABBPersistente<Integer, Integer> arvore = new ABBPersistente<>();
+		TreeMap<Integer, Integer> referencia = new TreeMap<>();
+
+		for (int i = 0; i < 500; i++) {
+			arvore.inserir(i, i);
+			referencia.put(i, i);
+		}
+		ABBPersistente<Integer, Integer> instantaneo = arvore.instantaneo();
+		TreeMap<Integer, Integer> congelado = new TreeMap<>(referencia);
+
+		for (int i = 0; i < 500; i += 2) {
+			assertEquals(referencia.remove(i), arvore.remover(i));
+			arvore.inserir(i + 1, -i);
+			referencia.put(i + 1, -i);
+		}
+		arvore.inserir(1_000, 1_000);
+		referencia.put(1_000, 1_000);
+
+		conferir(instantaneo, congelado);
+		conferir(arvore, referencia);
+		assertEquals(0, instantaneo.pesquisar(0));
+		assertThrows(NoSuchElementException.class, () -> instantaneo.pesquisar(1_000));
+
+		/// Escritas no instantâneo também não aparecem na árvore de origem.
+		instantaneo.inserir(2_000, 2_000);
+		assertThrows(NoSuchElementException.class, () -> arvore.pesquisar(2_000));
+		conferir(arvore, referencia);
+	}
+
+	@Test
+	void novasVersoesNaoAlteramAOrigem() {
+
+		ABBPersistente<Integer, Integer> origem = new ABBPersistente<>();
+		TreeMap<Integer, Integer> referencia = new TreeMap<>();
+
+		for (int i = 0; i < 100; i++) {
+			origem.inserir(i * 2, i);
+			referencia.put(i * 2, i);
+		}
+
+		ABBPersistente<Integer, Integer> comNova = origem.comInsercao(51, 51);
+		ABBPersistente<Integer, Integer> comTroca = origem.comInsercao(50, -1);
+		ABBPersistente<Integer, Integer> sem = origem.semChave(50);
+
+		conferir(origem, referencia);
+
+		TreeMap<Integer, Integer> esperado = new TreeMap<>(referencia);
+		esperado.put(51, 51);
+		conferir(comNova, esperado);
+
+		esperado = new TreeMap<>(referencia);
+		esperado.put(50, -1);
+		conferir(comTroca, esperado);
+
+		esperado = new TreeMap<>(referencia);
+		esperado.remove(50);
+		conferir(sem, esperado);
+
+		assertThrows(NoSuchElementException.class, () -> origem.semChave(51));
+		conferir(origem, referencia);
+	}
+
+	/** As novas versões são medidas na árvore que as produziu, uma operação por vez, como as escritas comuns. */
+	@Test
+	void novasVersoesSaoMedidasNaOrigem() {
+
+		ABBPersistente<Integer, Integer> origem = new ABBPersistente<>();
+		Metricas metricas;
+
+		for (int i = 0; i < 1_000; i++)
+			origem.inserir(i, i);
+		origem.ativarMetricas();
+		metricas = origem.getMetricas();
+
+		origem.comInsercao(1_000, 1_000);
+		long comparacoes = origem.getComparacoes();
+		assertTrue(comparacoes > 0 && comparacoes <= 15, comparacoes + " comparações em uma árvore de 1000 chaves");
+		origem.comInsercao(1_000, 1_000);
+		assertEquals(comparacoes, origem.getComparacoes());
+		origem.semChave(500);
+		assertThrows(NoSuchElementException.class, () -> origem.semChave(-1));
+
+		assertEquals(2, metricas.getQuantidade(Operacao.INSERIR));
+		assertEquals(2 * comparacoes, metricas.getComparacoes(Operacao.INSERIR));
+		assertEquals(2, metricas.getQuantidade(Operacao.REMOVER));
+	}
+
+	@Test
+	void copiaDoCaminhoMantemAArvoreBalanceada() {
+
+		Random aleatorio = new Random(13);
+		ABBPersistente<Integer, Integer> arvore = new ABBPersistente<>();
+		ABBPersistente<Integer, Integer> versao = new ABBPersistente<>();
+		TreeMap<Integer, Integer> referencia = new TreeMap<>();
+
+		/// Inserções crescentes forçam rotações em todo o caminho direito.
+		for (int i = 0; i < 1_000; i++) {
+			arvore.inserir(i, i);
+			versao = versao.comInsercao(i, i);
+			referencia.put(i, i);
+		}
+		conferir(arvore, referencia);
+		conferir(versao, referencia);
+
+		for (int passo = 0; passo < 10_000; passo++) {
+			int chave = aleatorio.nextInt(2_000);
+			if (aleatorio.nextBoolean()) {
+				arvore.inserir(chave, passo);
+				versao = versao.comInsercao(chave, passo);
+				referencia.put(chave, passo);
+			} else if (referencia.containsKey(chave)) {
+				assertEquals(referencia.remove(chave), arvore.remover(chave));
+				versao = versao.semChave(chave);
+			}
+		}
+		conferir(arvore, referencia);
+		conferir(versao, referencia);
+	}
+}
@@ -0,0 +1,660 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Consultas, política do bode expiatório e rebalanceamento de Day-Stout-Warren da {@link ABB} e da {@link AVL}. */
+class ABBTest {
+
+	/** Árvore do tipo indicado: "ABB" simples, "AVL" ou "bode" (ABB com a política do bode expiatório, alfa 0,7). */
+	private static ABB<Integer, Integer> criar(String tipo) {
+
+		switch (tipo) {
+		case "AVL":
+			return new AVL<>();
+		case "bode":
+			ABB<Integer, Integer> arvore = new ABB<>();
+			arvore.ativarBodeExpiatorio(0.7);
+			return arvore;
+		default:
+			return new ABB<>();
+		}
+	}
+
+	/**
+	 * Insere e remove chaves aleatórias na árvore e na referência. As remoções, sorteadas entre as chaves existentes,
+	 * incluem nós com dois filhos; na AVL e com o bode expiatório, as inserções provocam rotações e reconstruções.
+	 */
+	private static void operacoesAleatorias(ABB<Integer, Integer> arvore, TreeMap<Integer, Integer> referencia,
+			Random aleatorio, int passos) {
+
+		for (int passo = 0; passo < passos; passo++) {
+			int chave = aleatorio.nextInt(passos);
+			if (aleatorio.nextInt(3) > 0) {
+				arvore.inserir(chave, -chave);
+				referencia.put(chave, -chave);
+			} else {
+				Integer existente = referencia.ceilingKey(chave);
+				if (existente != null)
+					assertEquals(referencia.remove(existente), arvore.remover(existente));
+			}
+		}
+	}
+
+	/** Piso de log(n) na base 1/alfa: a maior profundidade aceita pela política do bode expiatório. */
+	private static int alturaAlfa(int n, double alfa) {
+		return (int) (Math.log(n) / Math.log(1 / alfa));
+	}
+
+	/** Altura mínima de uma árvore binária com n nós: piso de log2(n). */
+	private static int alturaMinima(int n) {
+		return 31 - Integer.numberOfLeadingZeros(n);
+	}
+
+	/**
+	 * Confere, em cada nó, a ordem das chaves e a quantidade e a altura mantidas, recalculando-as a partir dos filhos.
+	 * @return a quantidade de nós da sub-árvore.
+	 */
+	private static int conferirNos(No<Integer, Integer> no, Integer minimo, Integer maximo) {
+
+		if (no == null)
+			return 0;
+
+		assertTrue(minimo == null || no.getChave() > minimo, "chave fora de ordem: " + no.getChave());
+		assertTrue(maximo == null || no.getChave() < maximo, "chave fora de ordem: " + no.getChave());
+		int esquerda = conferirNos(no.getEsquerda(), minimo, no.getChave());
+		int direita = conferirNos(no.getDireita(), no.getChave(), maximo);
+		int alturaEsquerda = (no.getEsquerda() == null) ? -1 : no.getEsquerda().getAltura();
+		int alturaDireita = (no.getDireita() == null) ? -1 : no.getDireita().getAltura();
+
+		assertEquals(esquerda + direita + 1, no.getQuantidade(), "quantidade do nó " + no.getChave());
+		assertEquals(Math.max(alturaEsquerda, alturaDireita) + 1, no.getAltura(), "altura do nó " + no.getChave());
+		return esquerda + direita + 1;
+	}
+
+	private static void conferirInvariantes(ABB<Integer, Integer> arvore) {
+		assertEquals(arvore.tamanho(), conferirNos(arvore.raiz, null, null));
+	}
+
+	@ParameterizedTest
+	@ValueSource(doubles = { 0.55, 0.7, 0.9 })
+	void insercoesOrdenadasRespeitamAAlturaAlfa(double alfa) {
+
+		ABB<Integer, Integer> crescente = new ABB<>();
+		ABB<Integer, Integer> decrescente = new ABB<>();
+
+		crescente.ativarBodeExpiatorio(alfa);
+		decrescente.ativarBodeExpiatorio(alfa);
+		for (int n = 1; n <= 5_000; n++) {
+			crescente.inserir(n, n);
+			decrescente.inserir(-n, -n);
+			assertTrue(crescente.altura() <= alturaAlfa(n, alfa),
+					"altura " + crescente.altura() + " com " + n + " chaves crescentes e alfa " + alfa);
+			assertTrue(decrescente.altura() <= alturaAlfa(n, alfa),
+					"altura " + decrescente.altura() + " com " + n + " chaves decrescentes e alfa " + alfa);
+		}
+		conferirInvariantes(crescente);
+		conferirInvariantes(decrescente);
+	}
+
+	/**
+	 * Com remoções, a árvore inteira é reconstruída quando o tamanho cai abaixo de alfa vezes o maior tamanho; até lá, a
+	 * altura pode exceder o limite do tamanho atual em um nível.
+	 */
+	@ParameterizedTest
+	@ValueSource(doubles = { 0.55, 0.7, 0.9 })
+	void insercoesERemocoesMantemAAlturaAlfa(double alfa) {
+
+		Random aleatorio = new Random(11);
+		ABB<Integer, Integer> arvore = new ABB<>();
+		TreeMap<Integer, Integer> referencia = new TreeMap<>();
+
+		arvore.ativarBodeExpiatorio(alfa);
+		for (int passo = 0; passo < 20_000; passo++) {
+			/// Chaves concentradas no fim do intervalo, que cresce com o passo: inserções quase ordenadas.
+			int chave = passo / 2 - aleatorio.nextInt(50);
+			if (aleatorio.nextInt(3) > 0) {
+				arvore.inserir(chave, chave);
+				referencia.put(chave, chave);
+			} else if (referencia.containsKey(chave)) {
+				assertEquals(referencia.remove(chave), arvore.remover(chave));
+			}
+			if (!referencia.isEmpty())
+				assertTrue(arvore.altura() <= alturaAlfa(referencia.size(), alfa) + 1,
+						"altura " + arvore.altura() + " com " + referencia.size() + " chaves e alfa " + alfa);
+		}
+		assertEquals(referencia.size(), arvore.tamanho());
+		conferirInvariantes(arvore);
+	}
+
+	@Test
+	void rebalancearProduzAlturaMinima() {
+
+		for (int n = 0; n <= 600; n++) {
+			ABB<Integer, Integer> arvore = new ABB<>();
+			for (int i = 0; i < n; i++)
+				arvore.inserir(i, i);
+
+			arvore.rebalancear();
+
+			assertEquals(n, arvore.tamanho());
+			assertEquals((n == 0) ? -1 : alturaMinima(n), arvore.altura(), "altura após rebalancear " + n + " nós");
+			assertEquals(0, arvore.getComparacoes());
+			conferirInvariantes(arvore);
+		}
+	}
+
+	@Test
+	void rebalancearArvoreAleatoriaPreservaOsItens() {
+
+		Random aleatorio = new Random(5);
+		ABB<Integer, Integer> arvore = new ABB<>();
+		TreeMap<Integer, Integer> referencia = new TreeMap<>();
+
+		for (int i = 0; i < 3_000; i++) {
+			int chave = aleatorio.nextInt(10_000);
+			arvore.inserir(chave, i);
+			referencia.put(chave, i);
+		}
+		for (int i = 0; i < 1_000; i++) {
+			Integer chave = referencia.ceilingKey(aleatorio.nextInt(10_000));
+			if (chave != null)
+				assertEquals(referencia.remove(chave), arvore.remover(chave));
+		}
+
+		arvore.rebalancear();
+
+		assertEquals(alturaMinima(referencia.size()), arvore.altura());
+		conferirInvariantes(arvore);
+		for (Integer chave : referencia.keySet())
+			assertEquals(referencia.get(chave), arvore.pesquisar(chave));
+
+		/// A árvore rebalanceada continua aceitando inserções e remoções com as quantidades e alturas corretas.
+		arvore.inserir(-1, -1);
+		arvore.remover(referencia.firstKey());
+		conferirInvariantes(arvore);
+	}
+
+	@Test
+	void fatorAlfaForaDoIntervaloERecusado() {
+
+		ABB<Integer, Integer> arvore = new ABB<>();
+
+		assertThrows(IllegalArgumentException.class, () -> arvore.ativarBodeExpiatorio(0.5));
+		assertThrows(IllegalArgumentException.class, () -> arvore.ativarBodeExpiatorio(1));
+	}
+
+	@Test
+	void avlRecusaABodeExpiatorio() {
+		assertThrows(UnsupportedOperationException.class, () -> new AVL<Integer, Integer>().ativarBodeExpiatorio(0.7));
+	}
+
+	/** Seleção, posição e páginas conferidas contra a ordem da referência. */
+	private static void conferirOrdem(ABB<Integer, Integer> arvore, TreeMap<Integer, Integer> referencia) {
+
+		List<Integer> chaves = new ArrayList<>(referencia.keySet());
+
+		conferirInvariantes(arvore);
+		for (int i = 0; i < chaves.size(); i++) {
+			assertEquals(referencia.get(chaves.get(i)), arvore.selecionar(i));
+			assertEquals(i, arvore.posicao(chaves.get(i)));
+		}
+		for (int inicio = 0; inicio <= chaves.size() + 1; inicio += 7) {
+			List<Integer> esperada = new ArrayList<>();
+			for (int i = inicio; i < Math.min(inicio + 10, chaves.size()); i++)
+				esperada.add(referencia.get(chaves.get(i)));
+			assertEquals(esperada, arvore.pagina(inicio, 10), "página a partir de " + inicio);
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "ABB", "AVL", "bode" })
+	void selecionarPosicaoEPaginaSeguemAOrdemDasChaves(String tipo) {
+
+		Random aleatorio = new Random(17);
+		ABB<Integer, Integer> arvore = criar(tipo);
+		TreeMap<Integer, Integer> referencia = new TreeMap<>();
+
+		operacoesAleatorias(arvore, referencia, aleatorio, 3_000);
+		conferirOrdem(arvore, referencia);
+
+		/// Inserções crescentes: rotações em cadeia na AVL e reconstruções de sub-árvores com o bode expiatório.
+		for (int chave = 10_000; chave < 11_000; chave++) {
+			arvore.inserir(chave, -chave);
+			referencia.put(chave, -chave);
+		}
+		conferirOrdem(arvore, referencia);
+
+		/// Remoção de todas as raízes com dois filhos, até que a raiz tenha no máximo um.
+		while (arvore.raiz.getEsquerda() != null && arvore.raiz.getDireita() != null) {
+			Integer chave = arvore.raiz.getChave();
+			assertEquals(referencia.remove(chave), arvore.remover(chave));
+		}
+		conferirOrdem(arvore, referencia);
+
+		if (!(arvore instanceof AVL)) {
+			arvore.rebalancear();
+			conferirOrdem(arvore, referencia);
+		}
+
+		assertThrows(IndexOutOfBoundsException.class, () -> arvore.selecionar(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> arvore.selecionar(referencia.size()));
+		assertThrows(NoSuchElementException.class, () -> arvore.posicao(-1));
+		assertTrue(arvore.pagina(referencia.size(), 5).isEmpty());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "ABB", "AVL" })
+	void intervaloEVizinhosSeguemAReferencia(String tipo) {
+
+		Random aleatorio = new Random(23);
+		ABB<Integer, Integer> arvore = criar(tipo);
+		TreeMap<Integer, Integer> referencia = new TreeMap<>();
+
+		/// Chaves pares, para que as chaves ímpares consultadas nunca existam na árvore.
+		for (int i = 0; i < 500; i++) {
+			int chave = 2 * aleatorio.nextInt(1_000);
+			arvore.inserir(chave, -chave);
+			referencia.put(chave, -chave);
+		}
+
+		for (int consulta = 0; consulta < 1_000; consulta++) {
+			int min = aleatorio.nextInt(2_100) - 50;
+			int max = min + aleatorio.nextInt(200) - 20;
+			List<Integer> esperada = (min <= max) ? new ArrayList<>(referencia.subMap(min, true, max, true).values())
+					: Collections.emptyList();
+			assertEquals(esperada, arvore.entre(min, max), "entre " + min + " e " + max);
+
+			Integer piso = referencia.floorKey(min);
+			if (piso == null)
+				assertThrows(NoSuchElementException.class, () -> arvore.menorOuIgual(min));
+			else
+				assertEquals(referencia.get(piso), arvore.menorOuIgual(min), "menor ou igual a " + min);
+
+			Integer teto = referencia.ceilingKey(min);
+			if (teto == null)
+				assertThrows(NoSuchElementException.class, () -> arvore.maiorOuIgual(min));
+			else
+				assertEquals(referencia.get(teto), arvore.maiorOuIgual(min), "maior ou igual a " + min);
+		}
+
+		int menor = referencia.firstKey(), maior = referencia.lastKey();
+		assertEquals(new ArrayList<>(referencia.values()), arvore.entre(menor, maior));
+		assertEquals(-menor, arvore.menorOuIgual(menor));
+		assertEquals(-maior, arvore.maiorOuIgual(maior));
+		assertThrows(NoSuchElementException.class, () -> arvore.menorOuIgual(menor - 1));
+		assertThrows(NoSuchElementException.class, () -> arvore.maiorOuIgual(maior + 1));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "ABB", "AVL" })
+	void comPrefixoRetornaOIntervaloDoPrefixo(String tipo) {
+
+		ABB<String, String> arvore = "AVL".equals(tipo) ? new AVL<>() : new ABB<>();
+		List<String> chaves = Arrays.asList("Cola", "Biscoito", "Co", "Coco", "Café", "Colar", "Cobre", "Colírio", "D",
+				"Abacate", "Cz", "Col", "C");
+
+		for (String chave : chaves)
+			arvore.inserir(chave, chave.toUpperCase());
+
+		assertEquals(Arrays.asList("CO", "COBRE", "COCO", "COL", "COLA", "COLAR", "COLÍRIO"), ABB.comPrefixo(arvore, "Co"));
+		assertEquals(Arrays.asList("COLA", "COLAR"), ABB.comPrefixo(arvore, "Cola"));
+		assertEquals(Arrays.asList("COLAR"), ABB.comPrefixo(arvore, "Colar"));
+		assertEquals(Arrays.asList("C", "CAFÉ", "CO", "COBRE", "COCO", "COL", "COLA", "COLAR", "COLÍRIO", "CZ"),
+				ABB.comPrefixo(arvore, "C"));
+
+		/// O prefixo vazio está no início de todas as chaves.
+		List<String> todas = new ArrayList<>();
+		chaves.stream().sorted().forEach(chave -> todas.add(chave.toUpperCase()));
+		assertEquals(todas, ABB.comPrefixo(arvore, ""));
+
+		/// Prefixos sem nenhuma chave: entre duas chaves, antes da primeira, depois da última e mais longo que uma chave.
+		assertTrue(ABB.comPrefixo(arvore, "Cp").isEmpty());
+		assertTrue(ABB.comPrefixo(arvore, "A0").isEmpty());
+		assertTrue(ABB.comPrefixo(arvore, "E").isEmpty());
+		assertTrue(ABB.comPrefixo(arvore, "Colaborador").isEmpty());
+		assertTrue(ABB.comPrefixo(new ABB<String, String>(), "Co").isEmpty());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "ABB", "AVL" })
+	void fluxoParaleloProduzCadaParUmaVezEmOrdem(String tipo) {
+
+		Random aleatorio = new Random(29);
+		ABB<Integer, Integer> arvore = criar(tipo);
+		TreeMap<Integer, Integer> referencia = new TreeMap<>();
+
+		operacoesAleatorias(arvore, referencia, aleatorio, 20_000);
+
+		assertEquals(new ArrayList<>(referencia.entrySet()), arvore.stream().parallel().collect(Collectors.toList()));
+		assertEquals(referencia.size(), arvore.stream().parallel().count());
+		assertEquals(referencia.keySet().stream().mapToLong(Integer::longValue).sum(),
+				arvore.stream().parallel().mapToLong(Map.Entry::getKey).sum());
+
+		Iterator<Map.Entry<Integer, Integer>> esperados = referencia.entrySet().iterator();
+		for (Map.Entry<Integer, Integer> par : arvore)
+			assertEquals(esperados.next(), par);
+		assertFalse(esperados.hasNext());
+	}
+
+	@Test
+	void divisorSeparaAsPosicoesRestantesAoMeio() {
+
+		ABB<Integer, Integer> arvore = new AVL<>();
+		List<Integer> primeiras = new ArrayList<>();
+
+		for (int i = 0; i < 100; i++)
+			arvore.inserir(i, i);
+
+		Spliterator<Map.Entry<Integer, Integer>> segunda = arvore.spliterator();
+		assertTrue(segunda.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+		assertEquals(100, segunda.getExactSizeIfKnown());
+
+		/// Depois de 3 avanços, restam as posições [3, 100): a primeira metade fica com [3, 51).
+		for (int i = 0; i < 3; i++)
+			assertTrue(segunda.tryAdvance(par -> primeiras.add(par.getKey())));
+		Spliterator<Map.Entry<Integer, Integer>> primeira = segunda.trySplit();
+		assertEquals(48, primeira.getExactSizeIfKnown());
+		assertEquals(49, segunda.getExactSizeIfKnown());
+
+		/// Uma nova divisão, antes de qualquer avanço, separa [51, 100) em [51, 75) e [75, 100).
+		Spliterator<Map.Entry<Integer, Integer>> meio = segunda.trySplit();
+		assertEquals(24, meio.getExactSizeIfKnown());
+		assertEquals(25, segunda.getExactSizeIfKnown());
+
+		primeira.forEachRemaining(par -> primeiras.add(par.getKey()));
+		List<Integer> doMeio = new ArrayList<>(), doFim = new ArrayList<>();
+		meio.forEachRemaining(par -> doMeio.add(par.getKey()));
+		segunda.forEachRemaining(par -> doFim.add(par.getKey()));
+
+		assertEquals(intervalo(0, 51), primeiras);
+		assertEquals(intervalo(51, 75), doMeio);
+		assertEquals(intervalo(75, 100), doFim);
+
+		/// Um divisor com uma só posição restante não se divide.
+		Spliterator<Map.Entry<Integer, Integer>> unitario = arvore.spliterator();
+		while (unitario.estimateSize() > 1)
+			unitario.trySplit();
+		assertNull(unitario.trySplit());
+	}
+
+	private static List<Integer> intervalo(int inicio, int fim) {
+
+		List<Integer> valores = new ArrayList<>();
+
+		for (int i = inicio; i < fim; i++)
+			valores.add(i);
+		return valores;
+	}
+
+	/** Fatores de balanceamento em [-1, 1], alturas e quantidades corretas e altura dentro do limite da AVL. */
+	private static void conferirAVL(ABB<Integer, Integer> arvore) {
+
+		FormaArvore forma = arvore.forma();
+
+		conferirInvariantes(arvore);
+		assertTrue(Arrays.asList(-1, 0, 1).containsAll(forma.getFatoresBalanceamento().keySet()),
+				"fatores de balanceamento: " + forma.getFatoresBalanceamento());
+		assertTrue(forma.getAltura() < 1.4405 * Math.log(arvore.tamanho() + 2) / Math.log(2) - 0.3277,
+				"altura " + forma.getAltura() + " com " + arvore.tamanho() + " nós");
+	}
+
+	@Test
+	void avlMantemOBalanceamentoEmInsercoesERemocoes() {
+
+		Random aleatorio = new Random(31);
+		ABB<Integer, Integer> arvore = new AVL<>();
+		TreeMap<Integer, Integer> referencia = new TreeMap<>();
+
+		for (int rodada = 0; rodada < 20; rodada++) {
+			operacoesAleatorias(arvore, referencia, aleatorio, 2_000);
+			conferirAVL(arvore);
+		}
+		for (Integer chave : referencia.keySet())
+			assertEquals(referencia.get(chave), arvore.pesquisar(chave));
+
+		/// Remoção de metade das chaves, sempre da raiz (com dois filhos, enquanto houver).
+		while (arvore.tamanho() > referencia.size() / 2 && arvore.raiz != null) {
+			Integer chave = arvore.raiz.getChave();
+			assertEquals(referencia.remove(chave), arvore.remover(chave));
+		}
+		conferirAVL(arvore);
+	}
+
+	@Test
+	void avlMantemOBalanceamentoEmInsercoesOrdenadas() {
+
+		ABB<Integer, Integer> crescente = new AVL<>();
+		ABB<Integer, Integer> decrescente = new AVL<>();
+
+		for (int n = 1; n <= 4_095; n++) {
+			crescente.inserir(n, n);
+			decrescente.inserir(-n, -n);
+		}
+		conferirAVL(crescente);
+		conferirAVL(decrescente);
+		/// Inserções ordenadas numa AVL produzem uma árvore perfeita quando n = 2^k - 1.
+		assertEquals(11, crescente.altura());
+		assertEquals(11, decrescente.altura());
+
+		for (int n = 1; n <= 4_095; n += 2)
+			crescente.remover(n);
+		conferirAVL(crescente);
+	}
+
+	/** Média das comparações de {@link ABB#pesquisar(Object)} para as chaves informadas, encontradas ou não. */
+	private static double mediaDeComparacoes(ABB<Integer, Integer> arvore, List<Integer> chaves) {
+
+		long soma = 0;
+
+		for (Integer chave : chaves) {
+			try {
+				arvore.pesquisar(chave);
+			} catch (NoSuchElementException excecao) {
+				/// Pesquisa sem sucesso: as comparações também são contadas.
+			}
+			soma += arvore.getComparacoes();
+		}
+		return (double) soma / chaves.size();
+	}
+
+	/** Árvore sem balanceamento com as chaves 2, 4, ..., 2n, inseridas na ordem informada (em múltiplos de 2). */
+	private static ABB<Integer, Integer> montar(int... ordem) {
+
+		ABB<Integer, Integer> arvore = new ABB<>();
+
+		for (int i : ordem)
+			arvore.inserir(2 * i, i);
+		return arvore;
+	}
+
+	/** As chaves pares da árvore (que existem) e as ímpares entre elas (uma por posição vazia), até 2n + 1. */
+	private static List<Integer> chaves(int n, boolean existentes) {
+
+		List<Integer> chaves = new ArrayList<>();
+
+		for (int chave = existentes ? 2 : 1; chave <= 2 * n + 1; chave += 2)
+			chaves.add(chave);
+		return chaves;
+	}
+
+	@Test
+	void formaDeUmaListaDegenerada() {
+
+		ABB<Integer, Integer> arvore = montar(1, 2, 3, 4, 5);
+		FormaArvore forma = arvore.forma();
+		TreeMap<Integer, Integer> fatores = new TreeMap<>();
+
+		assertEquals(5, forma.getQuantidade());
+		assertEquals(4, forma.getAltura());
+		assertEquals(2, forma.getAlturaMinima());
+		assertEquals(5.0 / 3, forma.getRazaoAltura(), 1e-9);
+		for (int profundidade = 0; profundidade <= 4; profundidade++)
+			assertEquals(1, forma.getNosNaProfundidade(profundidade));
+		assertEquals(0 + 1 + 2 + 3 + 4, forma.getSomaProfundidades());
+		assertEquals(2.0, forma.getProfundidadeMedia(), 1e-9);
+		assertEquals(3.0, forma.getComparacoesEsperadasSucesso(), 1e-9);
+		/// Posições vazias: uma à esquerda de cada nó (profundidades 1 a 5) e a da direita do último (profundidade 5).
+		assertEquals((1 + 2 + 3 + 4 + 5 + 5) / 6.0 + 1, forma.getComparacoesEsperadasInsucesso(), 1e-9);
+		for (int fator = -4; fator <= 0; fator++)
+			fatores.put(fator, 1);
+		assertEquals(fatores, forma.getFatoresBalanceamento());
+
+		assertEquals(forma.getComparacoesEsperadasSucesso(), mediaDeComparacoes(arvore, chaves(5, true)), 1e-9);
+		assertEquals(forma.getComparacoesEsperadasInsucesso(), mediaDeComparacoes(arvore, chaves(5, false)), 1e-9);
+	}
+
+	@Test
+	void formaDeUmaArvorePerfeitaDeSeteNos() {
+
+		ABB<Integer, Integer> arvore = montar(4, 2, 6, 1, 3, 5, 7);
+		FormaArvore forma = arvore.forma();
+
+		assertEquals(7, forma.getQuantidade());
+		assertEquals(2, forma.getAltura());
+		assertEquals(2, forma.getAlturaMinima());
+		assertEquals(1.0, forma.getRazaoAltura(), 1e-9);
+		assertEquals(1, forma.getNosNaProfundidade(0));
+		assertEquals(2, forma.getNosNaProfundidade(1));
+		assertEquals(4, forma.getNosNaProfundidade(2));
+		assertEquals(10, forma.getSomaProfundidades());
+		assertEquals(10.0 / 7, forma.getProfundidadeMedia(), 1e-9);
+		assertEquals(17.0 / 7, forma.getComparacoesEsperadasSucesso(), 1e-9);
+		/// As 8 posições vazias estão todas na profundidade 3.
+		assertEquals(4.0, forma.getComparacoesEsperadasInsucesso(), 1e-9);
+		assertEquals(Collections.singletonMap(0, 7), forma.getFatoresBalanceamento());
+
+		assertEquals(forma.getComparacoesEsperadasSucesso(), mediaDeComparacoes(arvore, chaves(7, true)), 1e-9);
+		assertEquals(forma.getComparacoesEsperadasInsucesso(), mediaDeComparacoes(arvore, chaves(7, false)), 1e-9);
+	}
+
+	@Test
+	void formaDaArvoreVazia() {
+
+		FormaArvore forma = new ABB<Integer, Integer>().forma();
+
+		assertEquals(0, forma.getQuantidade());
+		assertEquals(-1, forma.getAltura());
+		assertEquals(-1, forma.getAlturaMinima());
+		assertEquals(1.0, forma.getRazaoAltura(), 1e-9);
+		assertEquals(0, forma.getSomaProfundidades());
+		assertEquals(0.0, forma.getProfundidadeMedia(), 1e-9);
+		assertEquals(0.0, forma.getComparacoesEsperadasSucesso(), 1e-9);
+		assertEquals(1.0, forma.getComparacoesEsperadasInsucesso(), 1e-9);
+		assertTrue(forma.getFatoresBalanceamento().isEmpty());
+	}
+
+	/**
+	 * Numa lista degenerada muito profunda, pesquisas, inserções, remoções e o caminhamento são todos iterativos e não
+	 * esgotam a pilha de execução. O conteúdo é conferido sem recursão, pelo fluxo da árvore.
+	 */
+	@Test
+	void operacoesIterativasEmArvoreDegenerada() {
+
+		final int N = 20_000;
+		ABB<Integer, Integer> arvore = new ABB<>();
+
+		for (int i = 0; i < N; i++)
+			assertEquals(i + 1, arvore.inserir(i, i));
+		assertEquals(N - 1, arvore.altura());
+
+		assertEquals(N - 1, arvore.pesquisar(N - 1));
+		assertEquals(N, arvore.getComparacoes());
+		assertThrows(NoSuchElementException.class, () -> arvore.pesquisar(N));
+		assertEquals(N + 1, arvore.getComparacoes());
+
+		/// Chave repetida: o item é substituído e o tamanho não muda.
+		assertEquals(N, arvore.inserir(N - 1, -1));
+		assertEquals(-1, arvore.pesquisar(N - 1));
+
+		for (int i = 1; i < N; i += 2)
+			assertEquals(i == N - 1 ? -1 : i, arvore.remover(i));
+		assertThrows(NoSuchElementException.class, () -> arvore.remover(1));
+		assertEquals(N / 2, arvore.tamanho());
+		assertEquals(N / 2 - 1, arvore.altura());
+		assertEquals(intervalo(0, N / 2).stream().map(i -> 2 * i).collect(Collectors.toList()),
+				arvore.stream().map(Map.Entry::getKey).collect(Collectors.toList()));
+		assertEquals(N / 2, arvore.percorrer().split("\n").length);
+	}
+
+	@Test
+	void operacoesIterativasSeguemAReferencia() {
+
+		Random aleatorio = new Random(41);
+		ABB<Integer, Integer> arvore = new ABB<>();
+		TreeMap<Integer, Integer> referencia = new TreeMap<>();
+
+		operacoesAleatorias(arvore, referencia, aleatorio, 10_000);
+
+		conferirInvariantes(arvore);
+		for (int chave = -1; chave <= 10_000; chave++) {
+			if (referencia.containsKey(chave)) {
+				assertEquals(referencia.get(chave), arvore.pesquisar(chave));
+			} else {
+				int ausente = chave;
+				assertThrows(NoSuchElementException.class, () -> arvore.pesquisar(ausente));
+			}
+		}
+	}
+
+	@Test
+	void reindexacaoComChavesForaDeOrdemERepetidas() {
+
+		ABB<Integer, Integer> original = new ABB<>();
+		Random aleatorio = new Random(43);
+
+		for (int i = 0; i < 1_000; i++) {
+			int chave = aleatorio.nextInt(1_000_000);
+			original.inserir(chave, chave);
+		}
+		TreeMap<Integer, Integer> esperado = new TreeMap<>();
+		for (Map.Entry<Integer, Integer> par : original)
+			esperado.put(par.getValue() % 97, par.getValue());
+
+		/// Novas chaves fora da ordem original e repetidas: prevalece o último item na ordem da árvore original.
+		ABB<Integer, Integer> porResto = new ABB<>(original, item -> item % 97);
+		ABB<Integer, Integer> avlPorResto = new AVL<>(original, item -> item % 97);
+
+		for (ABB<Integer, Integer> arvore : Arrays.asList(porResto, avlPorResto)) {
+			assertEquals(new ArrayList<>(esperado.entrySet()), arvore.stream().collect(Collectors.toList()));
+			assertEquals(alturaMinima(esperado.size()), arvore.altura());
+			conferirInvariantes(arvore);
+		}
+		assertTrue(avlPorResto instanceof AVL);
+
+		/// Novas chaves em ordem decrescente, sem repetições, com outro comparador.
+		ABB<Integer, Integer> decrescente = new ABB<>(original, item -> -item, Comparator.<Integer>reverseOrder());
+		List<Integer> chavesEsperadas = new ArrayList<>();
+		for (Map.Entry<Integer, Integer> par : original)
+			chavesEsperadas.add(-par.getKey());
+		assertEquals(chavesEsperadas, decrescente.stream().map(Map.Entry::getKey).collect(Collectors.toList()));
+		assertEquals(alturaMinima(original.tamanho()), decrescente.altura());
+		conferirInvariantes(new ABB<>(original, item -> item / 2));
+
+		/// A árvore reindexada continua aceitando inserções e remoções, e a original não é alterada.
+		porResto.inserir(1_000, -1);
+		assertEquals(esperado.remove(0), porResto.remover(0));
+		conferirInvariantes(porResto);
+		assertEquals(chavesEsperadas.size(), original.tamanho());
+	}
+}
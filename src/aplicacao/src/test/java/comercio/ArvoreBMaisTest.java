@@ -0,0 +1,165 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Compara a árvore B+ com um {@link TreeMap} em ordens pequenas, em que divisões, empréstimos e fusões acontecem a cada
+ * poucas operações, conferindo a estrutura da árvore depois de cada uma.
+ */
+class ArvoreBMaisTest {
+
+	private static ArvoreBMais<Integer, String> criar(int ordem) {
+		return new ArvoreBMais<>(ordem, Comparator.<Integer>naturalOrder());
+	}
+
+	private static void conferir(ArvoreBMais<Integer, String> arvore, TreeMap<Integer, String> referencia) {
+
+		assertTrue(arvore.estruturaValida(), "estrutura da árvore B+ inválida");
+		assertEquals(referencia.size(), arvore.tamanho());
+		StringBuilder esperado = new StringBuilder();
+		for (String item : referencia.values())
+			esperado.append(item).append("\n");
+		assertEquals(esperado.toString(), arvore.percorrer());
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 3, 4, 5 })
+	void divideAsPaginasNasInsercoesCrescentesEDecrescentes(int ordem) {
+
+		ArvoreBMais<Integer, String> crescente = criar(ordem);
+		ArvoreBMais<Integer, String> decrescente = criar(ordem);
+		TreeMap<Integer, String> referencia = new TreeMap<>();
+
+		for (int i = 0; i < 500; i++) {
+			crescente.inserir(i, "item " + i);
+			decrescente.inserir(499 - i, "item " + (499 - i));
+			referencia.put(i, "item " + i);
+			assertTrue(crescente.estruturaValida());
+			assertTrue(decrescente.estruturaValida());
+		}
+		conferir(crescente, referencia);
+		conferir(decrescente, referencia);
+		assertTrue(crescente.altura() >= 4, "500 chaves em ordem " + ordem + " devem ocupar vários níveis");
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 3, 4, 5 })
+	void insercoesERemocoesAleatoriasConferemComOMapaDeReferencia(int ordem) {
+
+		Random aleatorio = new Random(ordem);
+		ArvoreBMais<Integer, String> arvore = criar(ordem);
+		TreeMap<Integer, String> referencia = new TreeMap<>();
+
+		for (int passo = 0; passo < 20_000; passo++) {
+			int chave = aleatorio.nextInt(300);
+			if (aleatorio.nextInt(10) < 6) {
+				String item = "item " + chave + "/" + passo;
+				arvore.inserir(chave, item);
+				referencia.put(chave, item);
+			} else if (referencia.containsKey(chave)) {
+				assertEquals(referencia.remove(chave), arvore.remover(chave));
+			} else {
+				assertThrows(NoSuchElementException.class, () -> arvore.remover(chave));
+			}
+			assertTrue(arvore.estruturaValida(), "estrutura inválida no passo " + passo);
+			assertEquals(referencia.size(), arvore.tamanho());
+		}
+		conferir(arvore, referencia);
+		for (Map.Entry<Integer, String> entrada : referencia.entrySet())
+			assertEquals(entrada.getValue(), arvore.pesquisar(entrada.getKey()));
+	}
+
+	/**
+	 * Esvazia árvores de vários níveis em três ordens diferentes: as remoções pela esquerda esgotam sempre a primeira
+	 * folha (empréstimos da direita e fusões à direita), pela direita a última (empréstimos da esquerda e fusões à
+	 * esquerda), e pelo meio as folhas intermediárias. As fusões sobem até os nós internos, que também ficam abaixo do
+	 * mínimo, e a raiz perde níveis até voltar a ser uma folha.
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = { 3, 4, 5 })
+	void remocoesPropagamFusoesAteARaiz(int ordem) {
+
+		int quantidade = 400;
+		List<List<Integer>> sequencias = new ArrayList<>();
+		List<Integer> pelaEsquerda = new ArrayList<>();
+		List<Integer> pelaDireita = new ArrayList<>();
+		List<Integer> peloMeio = new ArrayList<>();
+
+		for (int i = 0; i < quantidade; i++) {
+			pelaEsquerda.add(i);
+			pelaDireita.add(quantidade - 1 - i);
+			peloMeio.add((i % 2 == 0) ? quantidade / 2 + i / 2 : quantidade / 2 - 1 - i / 2);
+		}
+		sequencias.add(pelaEsquerda);
+		sequencias.add(pelaDireita);
+		sequencias.add(peloMeio);
+
+		for (List<Integer> sequencia : sequencias) {
+			ArvoreBMais<Integer, String> arvore = criar(ordem);
+			TreeMap<Integer, String> referencia = new TreeMap<>();
+			for (int i = 0; i < quantidade; i++) {
+				arvore.inserir(i, "item " + i);
+				referencia.put(i, "item " + i);
+			}
+
+			int alturaAnterior = arvore.altura();
+			assertTrue(alturaAnterior >= 4);
+			for (int chave : sequencia) {
+				assertEquals(referencia.remove(chave), arvore.remover(chave));
+				assertTrue(arvore.estruturaValida(), "estrutura inválida após remover " + chave);
+				assertTrue(arvore.altura() <= alturaAnterior, "a altura não pode crescer numa remoção");
+				alturaAnterior = arvore.altura();
+			}
+			conferir(arvore, referencia);
+			assertEquals(1, arvore.altura(), "a raiz deve voltar a ser uma folha");
+
+			/// A árvore esvaziada continua utilizável.
+			arvore.inserir(7, "item 7");
+			assertEquals("item 7", arvore.pesquisar(7));
+			assertTrue(arvore.estruturaValida());
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 3, 4, 5 })
+	void intervaloSegueAListaDeFolhas(int ordem) {
+
+		Random aleatorio = new Random(31 * ordem);
+		ArvoreBMais<Integer, String> arvore = criar(ordem);
+		TreeMap<Integer, String> referencia = new TreeMap<>();
+
+		for (int i = 0; i < 600; i++) {
+			int chave = aleatorio.nextInt(1_000);
+			arvore.inserir(chave, "item " + chave);
+			referencia.put(chave, "item " + chave);
+		}
+		/// Remoções intercaladas alteram o encadeamento das folhas por fusões.
+		for (int i = 0; i < 200; i++) {
+			Integer chave = referencia.ceilingKey(aleatorio.nextInt(1_000));
+			if (chave != null)
+				assertEquals(referencia.remove(chave), arvore.remover(chave));
+		}
+
+		for (int consulta = 0; consulta < 500; consulta++) {
+			int minimo = aleatorio.nextInt(1_100) - 50;
+			int maximo = minimo + aleatorio.nextInt(300);
+			assertEquals(new ArrayList<>(referencia.subMap(minimo, true, maximo, true).values()),
+					arvore.intervalo(minimo, maximo), "intervalo [" + minimo + ", " + maximo + "]");
+		}
+		assertEquals(new ArrayList<>(referencia.values()), arvore.intervalo(Integer.MIN_VALUE, Integer.MAX_VALUE));
+		assertTrue(arvore.intervalo(5, 4).isEmpty());
+	}
+}
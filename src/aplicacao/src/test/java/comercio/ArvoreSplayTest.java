@@ -0,0 +1,152 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Formas exatas produzidas pelo afunilamento descendente em árvores pequenas, montadas à mão, e comparação com um
+ * {@link TreeMap} em operações aleatórias.
+ */
+class ArvoreSplayTest {
+
+	private static No<Integer, String> no(No<Integer, String> esquerda, int chave, No<Integer, String> direita) {
+
+		No<Integer, String> no = new No<>(chave, "item " + chave);
+
+		no.setEsquerda(esquerda);
+		no.setDireita(direita);
+		return no;
+	}
+
+	private static No<Integer, String> folha(int chave) {
+		return no(null, chave, null);
+	}
+
+	private static ArvoreSplay<Integer, String> arvore(No<Integer, String> raiz, int tamanho) {
+
+		ArvoreSplay<Integer, String> arvore = new ArvoreSplay<>();
+
+		arvore.raiz = raiz;
+		arvore.tamanho = tamanho;
+		return arvore;
+	}
+
+	/** Forma da árvore entre parênteses: (esquerda chave direita), com "-" para sub-árvores vazias. */
+	private static String forma(No<Integer, String> no) {
+
+		if (no == null)
+			return "-";
+		if (no.getEsquerda() == null && no.getDireita() == null)
+			return String.valueOf(no.getChave());
+		return "(" + forma(no.getEsquerda()) + " " + no.getChave() + " " + forma(no.getDireita()) + ")";
+	}
+
+	@Test
+	void zigZigRotacionaOAvoAntesDeMontar() {
+
+		/// 6 -> 4 -> 2 pela esquerda: o avô (6) é rotacionado antes; 4 e 6 vão para a árvore auxiliar das chaves maiores.
+		ArvoreSplay<Integer, String> arvore = arvore(no(no(no(folha(1), 2, folha(3)), 4, folha(5)), 6, folha(7)), 7);
+
+		assertEquals("item 2", arvore.pesquisar(2));
+		assertEquals("(1 2 (3 4 (5 6 7)))", forma(arvore.raiz));
+		assertEquals(3, arvore.getComparacoes());
+	}
+
+	@Test
+	void zagZagRotacionaOAvoAntesDeMontar() {
+
+		ArvoreSplay<Integer, String> arvore = arvore(no(folha(1), 2, no(folha(3), 4, no(folha(5), 6, folha(7)))), 7);
+
+		assertEquals("item 6", arvore.pesquisar(6));
+		assertEquals("(((1 2 3) 4 5) 6 7)", forma(arvore.raiz));
+		assertEquals(3, arvore.getComparacoes());
+	}
+
+	@Test
+	void zigZagPenduraCadaLadoNumaArvoreAuxiliar() {
+
+		/// 3 -> 1 -> 2: o 3 vai para a árvore das chaves maiores e o 1 para a das menores, sem rotações.
+		ArvoreSplay<Integer, String> arvore = arvore(no(no(null, 1, folha(2)), 3, null), 3);
+
+		assertEquals("item 2", arvore.pesquisar(2));
+		assertEquals("(1 2 3)", forma(arvore.raiz));
+		assertEquals(3, arvore.getComparacoes());
+	}
+
+	@Test
+	void pesquisaSemSucessoLevaOUltimoNoVisitadoARaiz() {
+
+		ArvoreSplay<Integer, String> arvore = arvore(no(folha(2), 4, no(folha(6), 8, folha(10))), 5);
+
+		assertThrows(NoSuchElementException.class, () -> arvore.pesquisar(7));
+		assertEquals("((2 4 -) 6 (- 8 10))", forma(arvore.raiz));
+		assertEquals(5, arvore.tamanho());
+	}
+
+	@Test
+	void removerRaizSemSubarvoreEsquerda() {
+
+		ArvoreSplay<Integer, String> arvore = arvore(no(null, 2, no(folha(3), 4, folha(5))), 4);
+
+		assertEquals("item 2", arvore.remover(2));
+		assertEquals("(3 4 5)", forma(arvore.raiz));
+		assertEquals(3, arvore.tamanho());
+	}
+
+	@Test
+	void removerRaizComSubarvoreEsquerdaPromoveOAntecessor() {
+
+		/// A maior chave da sub-árvore esquerda (3) é afunilada, fica sem filho à direita e recebe a sub-árvore direita (7).
+		ArvoreSplay<Integer, String> arvore = arvore(no(no(folha(1), 2, folha(3)), 5, folha(7)), 5);
+
+		assertEquals("item 5", arvore.remover(5));
+		assertEquals("((1 2 -) 3 7)", forma(arvore.raiz));
+		assertEquals(4, arvore.tamanho());
+		assertThrows(NoSuchElementException.class, () -> arvore.remover(5));
+		assertEquals(4, arvore.tamanho());
+	}
+
+	@Test
+	void operacoesAleatoriasConferemComOMapaDeReferencia() {
+
+		Random aleatorio = new Random(3);
+		ArvoreSplay<Integer, String> arvore = new ArvoreSplay<>();
+		TreeMap<Integer, String> referencia = new TreeMap<>();
+
+		for (int passo = 0; passo < 20_000; passo++) {
+			int chave = aleatorio.nextInt(500);
+			switch (aleatorio.nextInt(3)) {
+				case 0 -> {
+					arvore.inserir(chave, "item " + passo);
+					referencia.put(chave, "item " + passo);
+				}
+				case 1 -> {
+					if (referencia.containsKey(chave))
+						assertEquals(referencia.get(chave), arvore.pesquisar(chave));
+					else
+						assertThrows(NoSuchElementException.class, () -> arvore.pesquisar(chave));
+				}
+				default -> {
+					if (referencia.containsKey(chave))
+						assertEquals(referencia.remove(chave), arvore.remover(chave));
+					else
+						assertThrows(NoSuchElementException.class, () -> arvore.remover(chave));
+				}
+			}
+			assertEquals(referencia.size(), arvore.tamanho());
+		}
+
+		StringBuilder esperado = new StringBuilder();
+		for (String item : referencia.values())
+			esperado.append(item).append("\n");
+		assertEquals(esperado.toString(), arvore.percorrer());
+		assertTrue(arvore.getComparacoesAmortizadas() > 0);
+	}
+}
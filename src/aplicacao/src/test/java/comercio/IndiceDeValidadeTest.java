@@ -0,0 +1,28 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IndiceDeValidadeTest {
+
+	@Test
+	void incluiTodosOsPereciveisMesmoComAMesmaDescricao() {
+
+		long hoje = ProdutoPerecivel.diaDeHoje();
+		ProdutoPerecivel antes = new ProdutoPerecivel("Leite", 4, 0.2, LocalDate.ofEpochDay(hoje + 3));
+		ProdutoPerecivel depois = new ProdutoPerecivel("Leite", 5, 0.2, LocalDate.ofEpochDay(hoje + 10));
+		Produto naoPerecivel = new ProdutoNaoPerecivel("Leite", 6, 0.2);
+		IndiceDeValidade indice = new IndiceDeValidade(new Produto[] { depois, naoPerecivel, antes });
+
+		assertEquals(2, indice.tamanho());
+		assertEquals(List.of(antes), indice.vencendoAte(hoje + 5));
+		assertTrue(indice.retirarVencidos(hoje + 3).isEmpty());
+		assertEquals(List.of(antes, depois), indice.retirarVencidos(hoje + 11));
+		assertEquals(0, indice.tamanho());
+	}
+}
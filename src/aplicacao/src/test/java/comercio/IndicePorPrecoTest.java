@@ -0,0 +1,43 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IndicePorPrecoTest {
+
+	@Test
+	void incluiProdutosComAMesmaDescricaoEmOrdemDePreco() {
+
+		Produto caro = new ProdutoNaoPerecivel("Caderno", 20, 0.5);
+		Produto barato = new ProdutoNaoPerecivel("Caderno", 5, 0.5);
+		Produto medio = new ProdutoNaoPerecivel("Lápis", 10, 0.5);
+		IndicePorPreco indice = new IndicePorPreco(new Produto[] { caro, barato, medio });
+
+		assertEquals(3, indice.tamanho());
+		assertEquals(Arrays.asList(barato, medio, caro), indice.maisBaratos(10));
+		assertEquals(List.of(medio), indice.entre(10, 20));
+	}
+
+	@Test
+	void atualizarTrocaAChaveNoDescontoERetiraOsVencidos() {
+
+		long hoje = ProdutoPerecivel.diaDeHoje();
+		ProdutoPerecivel perecivel = new ProdutoPerecivel("Leite", 10, 0.5, LocalDate.ofEpochDay(hoje + 30));
+		Produto outro = new ProdutoNaoPerecivel("Arroz", 12, 0.2);
+		IndicePorPreco indice = new IndicePorPreco(new Produto[] { perecivel, outro });
+		double precoComDesconto = perecivel.valorDeVenda(hoje + 30);
+
+		assertEquals(List.of(outro, perecivel), indice.maisBaratos(2));
+
+		/// No último dia da validade, o perecível já tem desconto; no dia seguinte, sai do índice.
+		assertEquals(1, indice.atualizar(hoje + 30));
+		assertEquals(List.of(perecivel), indice.entre(precoComDesconto, precoComDesconto));
+		assertEquals(1, indice.atualizar(hoje + 31));
+		assertEquals(List.of(outro), indice.maisBaratos(2));
+	}
+}
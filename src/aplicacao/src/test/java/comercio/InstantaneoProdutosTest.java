@@ -0,0 +1,154 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InstantaneoProdutosTest {
+
+	@TempDir
+	Path diretorio;
+
+	private static Produto[] produtos() {
+
+		LocalDate validade = LocalDate.now().plusDays(30);
+
+		return new Produto[] {
+				new ProdutoNaoPerecivel("Caderno", 10, 0.5),
+				new ProdutoPerecivel("Leite", 4, 0.2, validade),
+				new ProdutoNaoPerecivel("Caderno", 12, 0.4),   // mesma descrição, outro produto.
+				new ProdutoPerecivel("Pão de queijo", 8, 0.3, validade),
+		};
+	}
+
+	/** Árvore por nome montada como na leitura do arquivo-texto: entre descrições iguais, prevalece o último produto. */
+	private static ABB<String, Produto> arvorePorNome(Produto[] produtos) {
+
+		ABB<String, Produto> arvore = new AVL<>();
+
+		for (Produto produto : produtos)
+			arvore.inserir(produto.descricao, produto);
+		return arvore;
+	}
+
+	@Test
+	void gravaELeTodosOsProdutosNaOrdemOriginal() throws IOException {
+
+		Produto[] originais = produtos();
+		String arquivo = diretorio.resolve("produtos.bin").toString();
+
+		InstantaneoProdutos.gravar(originais, arvorePorNome(originais), arquivo);
+		Produto[] lidos = InstantaneoProdutos.ler(arquivo).produtos;
+
+		assertEquals(originais.length, lidos.length);
+		for (int i = 0; i < originais.length; i++) {
+			assertEquals(originais[i].idProduto, lidos[i].idProduto);
+			assertEquals(originais[i].gerarDadosTexto(), lidos[i].gerarDadosTexto());
+		}
+	}
+
+	@Test
+	void arvorePorNomeERemontadaSemComparacoes() throws IOException {
+
+		Produto[] originais = produtos();
+		ABB<String, Produto> gravada = arvorePorNome(originais);
+		String arquivo = diretorio.resolve("produtos.bin").toString();
+
+		InstantaneoProdutos.gravar(originais, gravada, arquivo);
+		InstantaneoProdutos.Conteudo conteudo = InstantaneoProdutos.ler(arquivo);
+		ABB<String, Produto> remontada = new AVL<>();
+		conteudo.montarArvorePorNome(remontada);
+
+		/// Caderno (o segundo, posição 2), Leite e Pão de queijo.
+		assertArrayEquals(new int[] { 2, 1, 3 }, conteudo.ordemPorNome);
+		assertEquals(0, remontada.getComparacoes());
+		assertEquals(gravada.tamanho(), remontada.tamanho());
+		Iterator<Map.Entry<String, Produto>> esperadas = gravada.iterator();
+		for (Map.Entry<String, Produto> entrada : remontada) {
+			Map.Entry<String, Produto> esperada = esperadas.next();
+			assertEquals(esperada.getKey(), entrada.getKey());
+			assertEquals(esperada.getValue().idProduto, entrada.getValue().idProduto);
+		}
+		assertSame(conteudo.produtos[2], remontada.pesquisar("Caderno"));
+	}
+
+	/** Grava um cabeçalho válido seguido do registro informado. */
+	private String gravarRegistro(String nome, int quantidade, RegistroBruto registro) throws IOException {
+
+		Path arquivo = diretorio.resolve(nome);
+
+		try (DataOutputStream saida = new DataOutputStream(Files.newOutputStream(arquivo))) {
+			saida.writeInt(0x50524F44);
+			saida.writeInt(3);
+			saida.writeInt(quantidade);
+			registro.gravar(saida);
+		}
+		return arquivo.toString();
+	}
+
+	@FunctionalInterface
+	private interface RegistroBruto {
+		void gravar(DataOutputStream saida) throws IOException;
+	}
+
+	@Test
+	void registrosInvalidosSaoRecusadosComIOException() throws IOException {
+
+		byte[] descricao = "Leite".getBytes(StandardCharsets.UTF_8);
+
+		String descricaoNegativa = gravarRegistro("negativa.bin", 1, saida -> {
+			saida.writeByte(1);
+			saida.writeInt(1);
+			saida.writeInt(-5);
+			saida.write(new byte[40]);
+		});
+		String vencido = gravarRegistro("vencido.bin", 1, saida -> {
+			saida.writeByte(2);
+			saida.writeInt(1);
+			saida.writeInt(descricao.length);
+			saida.write(descricao);
+			saida.writeDouble(4);
+			saida.writeDouble(0.2);
+			saida.writeLong(LocalDate.now().minusDays(1).toEpochDay());
+		});
+		String dataForaDoIntervalo = gravarRegistro("data.bin", 1, saida -> {
+			saida.writeByte(2);
+			saida.writeInt(1);
+			saida.writeInt(descricao.length);
+			saida.write(descricao);
+			saida.writeDouble(4);
+			saida.writeDouble(0.2);
+			saida.writeLong(Long.MAX_VALUE);
+		});
+		String posicaoInvalida = gravarRegistro("posicao.bin", 1, saida -> {
+			saida.writeByte(1);
+			saida.writeInt(1);
+			saida.writeInt(descricao.length);
+			saida.write(descricao);
+			saida.writeDouble(4);
+			saida.writeDouble(0.2);
+			saida.writeInt(1);
+			saida.writeInt(1);
+		});
+		String incompleto = gravarRegistro("incompleto.bin", 1, saida -> saida.writeByte(1));
+		String quantidadeExcessiva = gravarRegistro("quantidade.bin", Integer.MAX_VALUE, saida -> saida.writeByte(1));
+
+		for (String arquivo : Arrays.asList(descricaoNegativa, vencido, dataForaDoIntervalo, posicaoInvalida, incompleto,
+				quantidadeExcessiva))
+			assertThrows(IOException.class, () -> InstantaneoProdutos.ler(arquivo), arquivo);
+	}
+}
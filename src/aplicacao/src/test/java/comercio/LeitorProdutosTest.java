@@ -0,0 +1,119 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A carga paralela deve produzir os mesmos produtos, com os mesmos identificadores relativos, e a mesma árvore por nome
+ * que a leitura sequencial com inserções sucessivas.
+ */
+class LeitorProdutosTest {
+
+	private static final String[] NOMES = { "Caderno", "Lápis", "Borracha", "Régua", "Caneta", "Açúcar", "Pão de queijo" };
+
+	@TempDir
+	Path diretorio;
+
+	/**
+	 * Gera um arquivo com nomes repetidos, caracteres de vários bytes em UTF-8, linhas de tamanhos muito diferentes
+	 * (uma delas maior que vários blocos), algumas terminadas em CRLF e a última sem quebra de linha.
+	 */
+	private String gerarArquivo(int quantidade, long semente) throws IOException {
+
+		Random aleatorio = new Random(semente);
+		String validade = LocalDate.now().plusDays(60).format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+		StringBuilder texto = new StringBuilder().append(quantidade).append("\n");
+
+		for (int i = 0; i < quantidade; i++) {
+			String nome = NOMES[aleatorio.nextInt(NOMES.length)] + " " + aleatorio.nextInt(quantidade / 2 + 1);
+			if (i == quantidade / 3)
+				nome = nome + " " + "ç".repeat(2_000);
+			if (aleatorio.nextBoolean())
+				texto.append("1;").append(nome).append(";").append(1 + aleatorio.nextInt(50)).append(",25;0,40");
+			else
+				texto.append("2;").append(nome).append(";").append(1 + aleatorio.nextInt(50)).append(",50;0,30;").append(validade);
+			if (i < quantidade - 1)
+				texto.append(aleatorio.nextInt(4) == 0 ? "\r\n" : "\n");
+		}
+
+		Path arquivo = diretorio.resolve("produtos-" + quantidade + "-" + semente + ".txt");
+		Files.writeString(arquivo, texto, StandardCharsets.UTF_8);
+		return arquivo.toString();
+	}
+
+	private static void conferirMesmosProdutos(List<Produto> esperados, Produto[] obtidos) {
+
+		assertEquals(esperados.size(), obtidos.length);
+		for (int i = 0; i < obtidos.length; i++) {
+			assertEquals(esperados.get(i).gerarDadosTexto(), obtidos[i].gerarDadosTexto(), "produto " + i);
+			assertEquals(esperados.get(i).idProduto - esperados.get(0).idProduto, obtidos[i].idProduto - obtidos[0].idProduto,
+					"identificador relativo do produto " + i);
+		}
+	}
+
+	private static void conferirMesmaArvore(ABB<String, Produto> esperada, int primeiroEsperado, ABB<String, Produto> obtida,
+			int primeiroObtido) {
+
+		Iterator<Map.Entry<String, Produto>> obtidos = obtida.iterator();
+
+		assertEquals(esperada.tamanho(), obtida.tamanho());
+		for (Map.Entry<String, Produto> esperado : esperada) {
+			Map.Entry<String, Produto> obtido = obtidos.next();
+			assertEquals(esperado.getKey(), obtido.getKey());
+			/// Para nomes repetidos, prevalece o último produto do arquivo nos dois casos.
+			assertEquals(esperado.getValue().idProduto - primeiroEsperado, obtido.getValue().idProduto - primeiroObtido,
+					"produto associado a " + esperado.getKey());
+		}
+	}
+
+	@Test
+	void cargaParalelaEquivaleALeituraSequencial() throws IOException {
+
+		for (int quantidade : new int[] { 1, 7, 50, 1_000 }) {
+			String arquivo = gerarArquivo(quantidade, quantidade);
+			List<Produto> sequenciais = new ArrayList<>();
+			ABB<String, Produto> arvoreSequencial = new AVL<>();
+
+			assertEquals(quantidade, LeitorProdutos.ler(arquivo, sequenciais::add,
+					LeitorProdutos.indexar(arvoreSequencial, p -> p.descricao)));
+
+			/// Com mais threads, há mais blocos (4 por thread), e os limites calculados caem no meio das linhas antes de
+			/// serem alinhados; com arquivos pequenos, vários blocos ficam vazios.
+			for (int paralelismo = 1; paralelismo <= 16; paralelismo++) {
+				Produto[] paralelos = LeitorProdutos.lerEmParalelo(arquivo, paralelismo);
+				ABB<String, Produto> arvoreParalela = new AVL<>();
+
+				conferirMesmosProdutos(sequenciais, paralelos);
+				LeitorProdutos.indexarOrdenado(arvoreParalela, paralelos, p -> p.descricao, paralelismo);
+				conferirMesmaArvore(arvoreSequencial, sequenciais.get(0).idProduto, arvoreParalela, paralelos[0].idProduto);
+			}
+		}
+	}
+
+	@Test
+	void linhasAlemDaQuantidadeDeclaradaSaoIgnoradas() throws IOException {
+
+		Path arquivo = diretorio.resolve("excedente.txt");
+		List<Produto> sequenciais = new ArrayList<>();
+
+		Files.writeString(arquivo, "2\n1;Caderno;10,00;0,50\n1;Lápis;1,00;0,50\n1;Borracha;2,00;0,50\n", StandardCharsets.UTF_8);
+
+		assertEquals(2, LeitorProdutos.ler(arquivo.toString(), sequenciais::add));
+		for (int paralelismo = 1; paralelismo <= 4; paralelismo++)
+			conferirMesmosProdutos(sequenciais, LeitorProdutos.lerEmParalelo(arquivo.toString(), paralelismo));
+	}
+}
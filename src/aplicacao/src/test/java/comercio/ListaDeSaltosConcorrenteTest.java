@@ -0,0 +1,127 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+
+class ListaDeSaltosConcorrenteTest {
+
+	private static final int THREADS = 8;
+	private static final int CHAVES_POR_THREAD = 5_000;
+	private static final int RODADAS = 5;
+
+	/** Executa a tarefa em todas as threads ao mesmo tempo, propagando as falhas. */
+	private static void executarEmParalelo(TarefaDaThread tarefa) throws Exception {
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CyclicBarrier largada = new CyclicBarrier(THREADS);
+		List<Future<?>> tarefas = new ArrayList<>();
+
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				int thread = t;
+				tarefas.add(executor.submit(() -> {
+					largada.await();
+					tarefa.executar(thread);
+					return null;
+				}));
+			}
+			for (Future<?> f : tarefas)
+				f.get();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@FunctionalInterface
+	private interface TarefaDaThread {
+		void executar(int thread) throws Exception;
+	}
+
+	@Test
+	void insercoesEremocoesSimultaneasMantemTodosOsNiveis() throws Exception {
+
+		for (int rodada = 0; rodada < RODADAS; rodada++) {
+			ListaDeSaltosConcorrente<Integer, Integer> lista = new ListaDeSaltosConcorrente<>();
+
+			/// Cada thread insere chaves intercaladas com as das outras e remove as suas chaves múltiplas de 3.
+			executarEmParalelo(thread -> {
+				for (int i = 0; i < CHAVES_POR_THREAD; i++) {
+					int chave = i * THREADS + thread;
+					lista.inserir(chave, chave);
+					if (i % 3 == 2)
+						assertEquals(chave - 2 * THREADS, lista.remover(chave - 2 * THREADS));
+				}
+			});
+
+			int esperados = 0;
+			for (int chave = 0; chave < CHAVES_POR_THREAD * THREADS; chave++) {
+				if ((chave / THREADS) % 3 == 0 && chave / THREADS < CHAVES_POR_THREAD - 2)
+					continue;
+				esperados++;
+				assertEquals(chave, lista.pesquisar(chave));
+			}
+			assertEquals(esperados, lista.tamanho());
+			assertEquals(esperados, lista.percorrer().lines().count());
+			assertTrue(lista.niveisConsistentes(), "níveis superiores inconsistentes com o nível 0");
+		}
+	}
+
+	@Test
+	void disputaPelasMesmasChavesMantemTodosOsNiveis() throws Exception {
+
+		int chaves = 2_000;
+
+		for (int rodada = 0; rodada < RODADAS; rodada++) {
+			ListaDeSaltosConcorrente<Integer, Integer> lista = new ListaDeSaltosConcorrente<>();
+
+			/// Todas as threads inserem e removem as mesmas chaves, em ordens aleatórias; ao final, cada uma reinsere tudo.
+			executarEmParalelo(thread -> {
+				ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+				for (int i = 0; i < 4 * chaves; i++) {
+					int chave = aleatorio.nextInt(chaves);
+					if (aleatorio.nextBoolean()) {
+						lista.inserir(chave, chave);
+					} else {
+						try {
+							lista.remover(chave);
+						} catch (NoSuchElementException ausente) {
+							/// Outra thread removeu antes.
+						}
+					}
+				}
+				for (int chave = 0; chave < chaves; chave++)
+					lista.inserir(chave, chave);
+			});
+
+			for (int chave = 0; chave < chaves; chave++)
+				assertEquals(chave, lista.pesquisar(chave));
+			assertEquals(chaves, lista.tamanho());
+			assertTrue(lista.niveisConsistentes(), "níveis superiores inconsistentes com o nível 0");
+		}
+	}
+
+	@Test
+	void removerChaveAusenteLancaExcecao() {
+
+		ListaDeSaltosConcorrente<Integer, Integer> lista = new ListaDeSaltosConcorrente<>();
+
+		lista.inserir(1, 10);
+		assertThrows(NoSuchElementException.class, () -> lista.remover(2));
+		assertThrows(NoSuchElementException.class, () -> lista.pesquisar(2));
+		assertEquals(10, lista.remover(1));
+		assertEquals(0, lista.tamanho());
+		assertTrue(lista.niveisConsistentes());
+	}
+}
@@ -0,0 +1,86 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class MapeamentoInteiroTest {
+
+	/** Confere o tamanho, a listagem em ordem e a pesquisa de cada chave da referência. */
+	private static void conferir(MapeamentoInteiro<String> mapeamento, TreeMap<Integer, String> referencia) {
+
+		StringBuilder esperada = new StringBuilder();
+
+		for (String item : referencia.values())
+			esperada.append(item).append("\n");
+		assertEquals(referencia.size(), mapeamento.tamanho());
+		assertEquals(esperada.toString(), mapeamento.percorrer());
+		for (Integer chave : referencia.keySet())
+			assertEquals(referencia.get(chave), mapeamento.pesquisar(chave.intValue()));
+	}
+
+	@Test
+	void insercoesForaDeOrdemERemocoesSeguemAReferencia() {
+
+		Random aleatorio = new Random(37);
+		MapeamentoInteiro<String> mapeamento = new MapeamentoInteiro<>(1);
+		TreeMap<Integer, String> referencia = new TreeMap<>();
+
+		for (int passo = 0; passo < 20_000; passo++) {
+			int chave = aleatorio.nextInt(4_000) - 2_000;
+			int operacao = aleatorio.nextInt(4);
+			if (operacao < 2) {
+				referencia.put(chave, "item " + passo);
+				assertEquals(referencia.size(), mapeamento.inserir(chave, "item " + passo));
+			} else if (operacao == 2) {
+				/// Chave maior que todas: caminho de inserção no final do vetor.
+				int maior = referencia.isEmpty() ? 0 : referencia.lastKey() + 1 + aleatorio.nextInt(3);
+				referencia.put(maior, "item " + passo);
+				assertEquals(referencia.size(), mapeamento.inserir(maior, "item " + passo));
+			} else if (referencia.containsKey(chave)) {
+				assertEquals(referencia.remove(chave), mapeamento.remover(chave));
+			} else {
+				assertThrows(NoSuchElementException.class, () -> mapeamento.remover(chave));
+				assertThrows(NoSuchElementException.class, () -> mapeamento.pesquisar(chave));
+			}
+			if (passo % 1_000 == 0)
+				conferir(mapeamento, referencia);
+		}
+		conferir(mapeamento, referencia);
+
+		/// Remoção das extremidades, até esvaziar.
+		while (!referencia.isEmpty()) {
+			Integer chave = (referencia.size() % 2 == 0) ? referencia.firstKey() : referencia.lastKey();
+			assertEquals(referencia.remove(chave), mapeamento.remover(chave));
+		}
+		conferir(mapeamento, referencia);
+		assertEquals(1, mapeamento.inserir(5, "cinco"));
+		assertEquals("cinco", mapeamento.pesquisar(5));
+	}
+
+	@Test
+	void insercaoNoFinalUsaUmaComparacao() {
+
+		MapeamentoInteiro<String> mapeamento = new MapeamentoInteiro<>(1);
+
+		mapeamento.inserir(0, "0");
+		assertEquals(0, mapeamento.getComparacoes());
+		for (int chave = 1; chave <= 1_000; chave++) {
+			mapeamento.inserir(chave, String.valueOf(chave));
+			assertEquals(1, mapeamento.getComparacoes(), "inserção da chave " + chave);
+		}
+
+		/// Uma chave menor que a última já exige a pesquisa binária, e é deslocada para o início.
+		mapeamento.inserir(-1, "-1");
+		assertEquals(1_002, mapeamento.tamanho());
+		assertEquals("-1", mapeamento.pesquisar(-1));
+		assertEquals("1000", mapeamento.pesquisar(1_000));
+		assertEquals("-1", mapeamento.remover(Integer.valueOf(-1)));
+		assertEquals("0", mapeamento.pesquisar(Integer.valueOf(0)));
+	}
+}
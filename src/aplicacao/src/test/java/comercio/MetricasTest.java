@@ -0,0 +1,123 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class MetricasTest {
+
+	@Test
+	void metricasSuspensasNaoRegistramOperacoes() {
+
+		ABB<Integer, Integer> arvore = new ABB<>();
+		Metricas metricas;
+
+		arvore.ativarMetricas();
+		metricas = arvore.getMetricas();
+		arvore.inserir(1, 1);
+
+		metricas.suspender();
+		arvore.inserir(2, 2);
+		arvore.pesquisar(1);
+		arvore.remover(2);
+		metricas.retomar();
+
+		arvore.pesquisar(1);
+		assertEquals(1, metricas.getQuantidade(Operacao.INSERIR));
+		assertEquals(1, metricas.getQuantidade(Operacao.PESQUISAR));
+		assertEquals(0, metricas.getQuantidade(Operacao.REMOVER));
+	}
+
+	@Test
+	void arvoreBMaisRegistraOperacoes() {
+
+		ArvoreBMais<Integer, Integer> arvore = new ArvoreBMais<>();
+		Metricas metricas;
+
+		arvore.ativarMetricas();
+		metricas = arvore.getMetricas();
+		for (int i = 0; i < 20; i++)
+			arvore.inserir(i, i);
+		arvore.pesquisar(5);
+		assertThrows(NoSuchElementException.class, () -> arvore.pesquisar(50));
+		arvore.remover(3);
+		arvore.intervalo(4, 10);
+
+		assertEquals(20, metricas.getQuantidade(Operacao.INSERIR));
+		assertEquals(2, metricas.getQuantidade(Operacao.PESQUISAR));
+		assertEquals(1, metricas.getQuantidade(Operacao.REMOVER));
+		assertEquals(1, metricas.getQuantidade(Operacao.CONSULTAR));
+
+		arvore.desativarMetricas();
+		assertNull(arvore.getMetricas());
+	}
+
+	@Test
+	void abbPersistenteRegistraOperacoes() {
+
+		ABBPersistente<Integer, Integer> arvore = new ABBPersistente<>();
+		Metricas metricas;
+
+		arvore.ativarMetricas();
+		metricas = arvore.getMetricas();
+		for (int i = 0; i < 10; i++)
+			arvore.inserir(i, i);
+		arvore.pesquisar(5);
+		assertThrows(NoSuchElementException.class, () -> arvore.pesquisar(50));
+		arvore.remover(3);
+		assertThrows(NoSuchElementException.class, () -> arvore.remover(3));
+
+		assertEquals(10, metricas.getQuantidade(Operacao.INSERIR));
+		assertEquals(2, metricas.getQuantidade(Operacao.PESQUISAR));
+		assertEquals(2, metricas.getQuantidade(Operacao.REMOVER));
+
+		arvore.desativarMetricas();
+		assertNull(arvore.getMetricas());
+	}
+
+	@Test
+	void listaDeSaltosSomaOperacoesDeTodasAsThreads() throws Exception {
+
+		final int THREADS = 4, POR_THREAD = 500;
+		ListaDeSaltosConcorrente<Integer, Integer> lista = new ListaDeSaltosConcorrente<>();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> tarefas = new ArrayList<>();
+		Metricas metricas;
+
+		lista.ativarMetricas();
+		metricas = lista.getMetricas();
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				int base = t * POR_THREAD;
+				tarefas.add(executor.submit(() -> {
+					for (int i = base; i < base + POR_THREAD; i++) {
+						lista.inserir(i, i);
+						lista.pesquisar(i);
+						if (i % 2 == 0)
+							lista.remover(i);
+					}
+				}));
+			}
+			for (Future<?> tarefa : tarefas)
+				tarefa.get();
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(THREADS * POR_THREAD, metricas.getQuantidade(Operacao.INSERIR));
+		assertEquals(THREADS * POR_THREAD, metricas.getQuantidade(Operacao.PESQUISAR));
+		assertEquals(THREADS * POR_THREAD / 2, metricas.getQuantidade(Operacao.REMOVER));
+
+		lista.desativarMetricas();
+		assertNull(lista.getMetricas());
+	}
+}
@@ -0,0 +1,119 @@
+package comercio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TabelaHashTest {
+
+	/** Chave com hashCode de poucos valores distintos, para que várias chaves dividam as mesmas listas nas duas tabelas. */
+	private record ChaveColidente(int valor) {
+		@Override
+		public int hashCode() {
+			return valor % 37;
+		}
+	}
+
+	private static <K> void conferir(TabelaHash<K, Integer> tabela, Map<K, Integer> referencia) {
+
+		assertEquals(referencia.size(), tabela.tamanho());
+		assertEquals(referencia.size(), tabela.percorrer().lines().count());
+		for (Map.Entry<K, Integer> par : referencia.entrySet())
+			assertEquals(par.getValue(), tabela.pesquisar(par.getKey()));
+	}
+
+	@Test
+	void insercoesERemocoesDuranteAMigracao() {
+
+		TabelaHash<Integer, Integer> tabela = new TabelaHash<>();
+		Map<Integer, Integer> referencia = new HashMap<>();
+		Random aleatorio = new Random(17);
+		int operacoesMigrando = 0;
+
+		for (int passo = 0; passo < 50_000; passo++) {
+			/// Mais inserções que remoções: a tabela cresce e passa por vários redimensionamentos.
+			int chave = aleatorio.nextInt(passo + 1);
+			boolean migrandoAntes = tabela.migrando();
+			if (aleatorio.nextInt(3) > 0) {
+				tabela.inserir(chave, passo);
+				referencia.put(chave, passo);
+			} else if (referencia.containsKey(chave)) {
+				assertEquals(referencia.remove(chave), tabela.remover(chave));
+			} else {
+				assertThrows(NoSuchElementException.class, () -> tabela.remover(chave));
+			}
+			if (migrandoAntes) {
+				operacoesMigrando++;
+				/// Chaves recém-alteradas, que podem estar em posições já migradas ou não da tabela antiga.
+				for (int vizinha = Math.max(0, chave - 2); vizinha <= chave + 2; vizinha++) {
+					if (referencia.containsKey(vizinha))
+						assertEquals(referencia.get(vizinha), tabela.pesquisar(vizinha));
+				}
+				assertEquals(referencia.size(), tabela.tamanho());
+			}
+		}
+		assertTrue(operacoesMigrando > 1_000, "poucas operações durante migrações: " + operacoesMigrando);
+		conferir(tabela, referencia);
+	}
+
+	@Test
+	void migracaoInterrompidaPorOperacoesEmChavesColidentes() {
+
+		TabelaHash<ChaveColidente, Integer> tabela = new TabelaHash<>();
+		Map<ChaveColidente, Integer> referencia = new HashMap<>();
+		List<ChaveColidente> inseridas = new ArrayList<>();
+		int redimensionamentos = 0;
+
+		for (int valor = 0; valor < 3_000; valor++) {
+			ChaveColidente chave = new ChaveColidente(valor);
+			boolean migrandoAntes = tabela.migrando();
+
+			tabela.inserir(chave, valor);
+			referencia.put(chave, valor);
+			inseridas.add(chave);
+			if (!migrandoAntes && tabela.migrando())
+				redimensionamentos++;
+
+			if (tabela.migrando()) {
+				/// A cada passo da migração: remove uma chave antiga, reinsere outra com novo item e confere tudo.
+				ChaveColidente antiga = inseridas.get(valor / 2);
+				if (referencia.containsKey(antiga))
+					assertEquals(referencia.remove(antiga), tabela.remover(antiga));
+				ChaveColidente reinserida = inseridas.get(valor / 3);
+				tabela.inserir(reinserida, -valor);
+				referencia.put(reinserida, -valor);
+				conferir(tabela, referencia);
+			}
+		}
+		assertTrue(redimensionamentos >= 5);
+		conferir(tabela, referencia);
+	}
+
+	@Test
+	void migracaoTerminaComOperacoesSuficientes() {
+
+		TabelaHash<Integer, Integer> tabela = new TabelaHash<>(12);   // 16 posições: a 13ª inserção inicia a migração.
+
+		for (int i = 0; i < 12; i++)
+			tabela.inserir(i, i);
+		assertFalse(tabela.migrando());
+		tabela.inserir(12, 12);
+		assertTrue(tabela.migrando());
+		/// 16 posições antigas, migradas 4 a cada operação.
+		for (int i = 0; i < 4; i++)
+			tabela.pesquisar(i);
+		assertFalse(tabela.migrando());
+		for (int i = 0; i < 13; i++)
+			assertEquals(i, tabela.pesquisar(i));
+	}
+}
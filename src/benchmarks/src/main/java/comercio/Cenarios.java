@@ -0,0 +1,139 @@
+package comercio;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/** Estruturas e conjuntos de chaves comuns às avaliações de desempenho. */
+final class Cenarios {
+
+	/** Maior tamanho em que a ABB sem balanceamento é montada com chaves em ordem crescente: ela degenera numa lista. */
+	static final int LIMITE_ABB_ORDENADA = 20_000;
+
+	/** Fator de equilíbrio da ABB com a política do bode expiatório. */
+	static final double ALFA_BODE_EXPIATORIO = 0.7;
+
+	private Cenarios() {
+	}
+
+	/**
+	 * Cria uma estrutura vazia, pelo nome.
+	 * @throws IllegalArgumentException se o nome não corresponder a nenhuma estrutura.
+	 */
+	static <K, V> IMapeamento<K, V> criar(String estrutura) {
+
+		switch (estrutura) {
+			case "ABB":
+				return new ABB<>();
+			case "ABBBodeExpiatorio":
+				ABB<K, V> arvore = new ABB<>();
+				arvore.ativarBodeExpiatorio(ALFA_BODE_EXPIATORIO);
+				return arvore;
+			case "AVL":
+				return new AVL<>();
+			case "ArvoreBMais":
+				return new ArvoreBMais<>();
+			case "TabelaHash":
+				return new TabelaHash<>();
+			case "ABBPersistente":
+				return new ABBPersistente<>();
+			case "ListaDeSaltosConcorrente":
+				return new ListaDeSaltosConcorrente<>();
+			case "ArvoreSplay":
+				return new ArvoreSplay<>();
+			default:
+				throw new IllegalArgumentException("Estrutura desconhecida: " + estrutura);
+		}
+	}
+
+	/**
+	 * Recusa a ABB sem balanceamento com chaves crescentes acima de {@link #LIMITE_ABB_ORDENADA}, em que a montagem tem custo
+	 * quadrático. O JMH registra a falha desse cenário e segue com os demais.
+	 */
+	static void verificarViavel(String estrutura, boolean ordenadas, int tamanho) {
+		if (estrutura.equals("ABB") && ordenadas && tamanho > LIMITE_ABB_ORDENADA)
+			throw new IllegalStateException("ABB com " + tamanho + " chaves crescentes: árvore degenerada, cenário omitido.");
+	}
+
+	/** Insere as chaves na ordem informada. */
+	static <K, V> IMapeamento<K, V> montar(String estrutura, K[] chaves, V[] itens, int[] ordem) {
+
+		IMapeamento<K, V> mapeamento = criar(estrutura);
+
+		for (int i : ordem)
+			mapeamento.inserir(chaves[i], itens[i]);
+		return mapeamento;
+	}
+
+	/** Chaves inteiras pares, 0, 2, 4, ...: os ímpares ficam livres para inserções de chaves ausentes. */
+	static Integer[] inteirosPares(int tamanho) {
+
+		Integer[] chaves = new Integer[tamanho];
+
+		for (int i = 0; i < tamanho; i++)
+			chaves[i] = 2 * i;
+		return chaves;
+	}
+
+	/** Produtos do arquivo, em ordem crescente de nome (um por nome). */
+	static List<Produto> produtosPorNome(String arquivo) throws IOException {
+
+		TreeMap<String, Produto> porNome = new TreeMap<>();
+
+		LeitorProdutos.ler(arquivo, p -> porNome.put(p.descricao, p));
+		return new ArrayList<>(porNome.values());
+	}
+
+	static int[] identidade(int n) {
+
+		int[] ordem = new int[n];
+
+		for (int i = 0; i < n; i++)
+			ordem[i] = i;
+		return ordem;
+	}
+
+	/** Permutação aleatória de 0 a n - 1 (Fisher-Yates), com semente fixa para que as execuções sejam comparáveis. */
+	static int[] embaralhar(int n, long semente) {
+
+		int[] ordem = identidade(n);
+		Random aleatorio = new Random(semente);
+
+		for (int i = n - 1; i > 0; i--) {
+			int j = aleatorio.nextInt(i + 1);
+			int troca = ordem[i];
+			ordem[i] = ordem[j];
+			ordem[j] = troca;
+		}
+		return ordem;
+	}
+
+	/** Ordem de inserção: crescente ou embaralhada. */
+	static int[] ordem(String ordem, int n) {
+		return ordem.equals("crescente") ? identidade(n) : embaralhar(n, 42);
+	}
+
+	/**
+	 * Sorteia posições de 0 a n - 1 com distribuição de Zipf: a posição r - 1 tem probabilidade proporcional a 1 / r^s.
+	 * Cada sorteio é uma pesquisa binária na distribuição acumulada.
+	 */
+	static int[] sortearZipf(int n, double expoente, int quantidade, long semente) {
+
+		double[] acumulada = new double[n];
+		double total = 0;
+		int[] sorteados = new int[quantidade];
+		Random aleatorio = new Random(semente);
+
+		for (int r = 0; r < n; r++) {
+			total += 1 / Math.pow(r + 1, expoente);
+			acumulada[r] = total;
+		}
+		for (int i = 0; i < quantidade; i++) {
+			int posicao = java.util.Arrays.binarySearch(acumulada, aleatorio.nextDouble() * total);
+			sorteados[i] = Math.min(n - 1, (posicao >= 0) ? posicao : -(posicao + 1));
+		}
+		return sorteados;
+	}
+}
@@ -0,0 +1,96 @@
+package comercio;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Operações das implementações de {@link IMapeamento} com chaves inteiras, em tamanhos de 10^3 a 10^7, montadas com as
+ * chaves em ordem crescente ou embaralhadas. Mede a vazão e, no modo de amostragem, os percentis de latência; a taxa de
+ * alocação vem do profiler de coleta de lixo ({@code -prof gc}).
+ *
+ * Cada combinação de estrutura, tamanho e ordem roda em JVMs próprias ({@link Fork}): o perfil de tipos que uma estrutura
+ * deixa nos pontos de chamada de {@link IMapeamento} não penaliza as medidas das outras.
+ *
+ * A inserção é medida junto com a remoção da mesma chave, ausente da estrutura, para que o tamanho permaneça constante
+ * ao longo da medição; a montagem completa é medida em {@link MontagemBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapeamentosBenchmark {
+
+	@Param({ "ABB", "ABBBodeExpiatorio", "AVL", "ArvoreBMais", "TabelaHash", "ABBPersistente", "ListaDeSaltosConcorrente",
+			"ArvoreSplay" })
+	public String estrutura;
+
+	@Param({ "1000", "10000", "100000", "1000000", "10000000" })
+	public int tamanho;
+
+	@Param({ "crescente", "embaralhada" })
+	public String ordem;
+
+	private IMapeamento<Integer, Integer> mapeamento;
+	private Integer[] chaves;
+	private Integer[] ausentes;   // chaves ímpares, que não estão na estrutura.
+	private int[] consultas;
+	private int proxima;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+
+		Cenarios.verificarViavel(estrutura, ordem.equals("crescente"), tamanho);
+		chaves = Cenarios.inteirosPares(tamanho);
+		ausentes = new Integer[tamanho];
+		for (int i = 0; i < tamanho; i++)
+			ausentes[i] = 2 * i + 1;
+		mapeamento = Cenarios.montar(estrutura, chaves, chaves, Cenarios.ordem(ordem, tamanho));
+		consultas = Cenarios.embaralhar(tamanho, 7);
+	}
+
+	/** Próxima posição da sequência embaralhada de consultas. */
+	private int proximaConsulta() {
+
+		int consulta = consultas[proxima];
+
+		if (++proxima == consultas.length)
+			proxima = 0;
+		return consulta;
+	}
+
+	@Benchmark
+	public Integer pesquisar() {
+		return mapeamento.pesquisar(chaves[proximaConsulta()]);
+	}
+
+	@Benchmark
+	public void inserirERemover(Blackhole consumidor) {
+
+		Integer chave = ausentes[proximaConsulta()];
+
+		consumidor.consume(mapeamento.inserir(chave, chave));
+		consumidor.consume(mapeamento.remover(chave));
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public String percorrer() {
+		return mapeamento.percorrer();
+	}
+}
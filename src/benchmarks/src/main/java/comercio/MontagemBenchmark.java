@@ -0,0 +1,54 @@
+package comercio;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Montagem completa de cada estrutura, por inserções sucessivas de todas as chaves, em ordem crescente ou embaralhada.
+ * Cada medida é uma montagem inteira (modo de execução única), com uma estrutura nova a cada vez.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(2)
+public class MontagemBenchmark {
+
+	@Param({ "ABB", "ABBBodeExpiatorio", "AVL", "ArvoreBMais", "TabelaHash", "ABBPersistente", "ListaDeSaltosConcorrente",
+			"ArvoreSplay" })
+	public String estrutura;
+
+	@Param({ "1000", "10000", "100000", "1000000", "10000000" })
+	public int tamanho;
+
+	@Param({ "crescente", "embaralhada" })
+	public String ordem;
+
+	private Integer[] chaves;
+	private int[] sequencia;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		Cenarios.verificarViavel(estrutura, ordem.equals("crescente"), tamanho);
+		chaves = Cenarios.inteirosPares(tamanho);
+		sequencia = Cenarios.ordem(ordem, tamanho);
+	}
+
+	@Benchmark
+	public IMapeamento<Integer, Integer> montar() {
+		return Cenarios.montar(estrutura, chaves, chaves, sequencia);
+	}
+}
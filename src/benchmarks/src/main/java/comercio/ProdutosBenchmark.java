@@ -0,0 +1,116 @@
+package comercio;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Operações das implementações de {@link IMapeamento} com os produtos do arquivo de dados, indexados por nome,
+ * e o construtor que troca a chave da árvore ({@link ABB#ABB(ABB, java.util.function.Function)}).
+ * O arquivo é procurado no diretório atual; outro caminho pode ser informado com {@code -p arquivo=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProdutosBenchmark {
+
+	@Param({ "ABB", "ABBBodeExpiatorio", "AVL", "ArvoreBMais", "TabelaHash", "ABBPersistente", "ListaDeSaltosConcorrente",
+			"ArvoreSplay" })
+	public String estrutura;
+
+	@Param({ "crescente", "embaralhada" })
+	public String ordem;
+
+	@Param("produtos.txt")
+	public String arquivo;
+
+	private IMapeamento<String, Produto> mapeamento;
+	private AVL<String, Produto> porNome;
+	private String[] nomes;
+	private String[] ausentes;    // nomes que não estão na estrutura.
+	private Produto[] produtos;
+	private int[] consultas;
+	private int proxima;
+
+	@Setup(Level.Trial)
+	public void preparar() throws IOException {
+
+		List<Produto> lidos = Cenarios.produtosPorNome(arquivo);
+		int n = lidos.size();
+
+		Cenarios.verificarViavel(estrutura, ordem.equals("crescente"), n);
+		produtos = lidos.toArray(new Produto[0]);
+		nomes = new String[n];
+		ausentes = new String[n];
+		for (int i = 0; i < n; i++) {
+			nomes[i] = produtos[i].descricao;
+			ausentes[i] = produtos[i].descricao + " (novo)";
+		}
+		mapeamento = Cenarios.montar(estrutura, nomes, produtos, Cenarios.ordem(ordem, n));
+		consultas = Cenarios.embaralhar(n, 7);
+
+		porNome = new AVL<>();
+		for (int i = 0; i < n; i++)
+			porNome.inserir(nomes[i], produtos[i]);
+	}
+
+	private int proximaConsulta() {
+
+		int consulta = consultas[proxima];
+
+		if (++proxima == consultas.length)
+			proxima = 0;
+		return consulta;
+	}
+
+	@Benchmark
+	public Produto pesquisar() {
+		return mapeamento.pesquisar(nomes[proximaConsulta()]);
+	}
+
+	@Benchmark
+	public void inserirERemover(Blackhole consumidor) {
+
+		int i = proximaConsulta();
+
+		consumidor.consume(mapeamento.inserir(ausentes[i], produtos[i]));
+		consumidor.consume(mapeamento.remover(ausentes[i]));
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	public String percorrer() {
+		return mapeamento.percorrer();
+	}
+
+	/** Troca de chave mantendo a ordem (pelo próprio nome): carga linear, sem reordenação. */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	public ABB<String, Produto> trocarChaveMesmaOrdem() {
+		return new ABB<>(porNome, p -> p.descricao);
+	}
+
+	/** Troca de chave para o identificador: os itens precisam ser reordenados. */
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	public ABB<Integer, Produto> trocarChavePorId() {
+		return new ABB<>(porNome, p -> p.idProduto);
+	}
+}
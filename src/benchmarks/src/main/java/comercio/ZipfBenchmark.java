@@ -0,0 +1,90 @@
+package comercio;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pesquisas com acessos concentrados, para comparar a {@link ArvoreSplay} com a ABB e a AVL: a popularidade das chaves
+ * segue uma distribuição de Zipf, em que a chave de posição r no ranking é procurada com frequência proporcional a 1 / r^s.
+ * O ranking é uma permutação aleatória das chaves, sem relação com sua ordem, e as árvores são montadas com as chaves
+ * embaralhadas.
+ *
+ * As comparações por pesquisa não são contadas durante a medição: ao final, a mesma sequência de pesquisas é repetida,
+ * fora do tempo medido, numa estrutura recém-montada, e a média é mostrada na saída da execução.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ZipfBenchmark {
+
+	/** Tamanho da sequência de pesquisas sorteadas, percorrida em ciclo. */
+	private static final int PESQUISAS = 1 << 20;
+
+	@Param({ "ABB", "AVL", "ArvoreSplay" })
+	public String estrutura;
+
+	@Param({ "10000", "100000", "1000000" })
+	public int tamanho;
+
+	@Param({ "0.8", "1.0", "1.2" })
+	public double expoente;
+
+	private IMapeamento<Integer, Integer> mapeamento;
+	private Integer[] chaves;
+	private int[] ordem;
+	private int[] acessos;      // chaves procuradas, já convertidas do ranking para a posição.
+	private int proxima;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+
+		int[] ranking = Cenarios.embaralhar(tamanho, 13);
+
+		chaves = Cenarios.inteirosPares(tamanho);
+		ordem = Cenarios.embaralhar(tamanho, 42);
+		mapeamento = Cenarios.montar(estrutura, chaves, chaves, ordem);
+		acessos = Cenarios.sortearZipf(tamanho, expoente, PESQUISAS, 99);
+		for (int i = 0; i < acessos.length; i++)
+			acessos[i] = ranking[acessos[i]];
+	}
+
+	@Benchmark
+	public Integer pesquisar() {
+
+		Integer chave = chaves[acessos[proxima]];
+
+		if (++proxima == acessos.length)
+			proxima = 0;
+		return mapeamento.pesquisar(chave);
+	}
+
+	@TearDown(Level.Trial)
+	public void mostrarComparacoes() {
+
+		IMapeamento<Integer, Integer> repeticao = Cenarios.montar(estrutura, chaves, chaves, ordem);
+		long comparacoes = 0;
+
+		for (int acesso : acessos) {
+			repeticao.pesquisar(chaves[acesso]);
+			comparacoes += repeticao.getComparacoes();
+		}
+		System.out.printf("%nComparações por pesquisa (%s, n = %d, s = %.1f): %.2f%n", estrutura, tamanho, expoente,
+				(double) comparacoes / acessos.length);
+	}
+}